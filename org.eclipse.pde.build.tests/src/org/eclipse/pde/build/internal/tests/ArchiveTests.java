@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+import org.apache.tools.tar.TarEntry;
+import org.apache.tools.tar.TarInputStream;
+import org.apache.tools.zip.UnixStat;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.pde.build.tests.PDETestCase;
+import org.junit.Test;
+
+/**
+ * Write archives with the eclipse.archive task and read them back with java.util.zip and the tar
+ * support of Ant.
+ */
+public class ArchiveTests extends PDETestCase {
+	//Larger than the entries compressed in memory by the task
+	private static final int LARGE_SIZE = 10 * 1024 * 1024;
+
+	@Test
+	public void testZip() throws Exception {
+		IFolder buildFolder = newTest("archiveZip");
+		File content = createContent(buildFolder);
+
+		runArchive(buildFolder, "zipfileset", "test.zip", false);
+
+		File archive = buildFolder.getFile("test.zip").getLocation().toFile();
+		assertZipEntries(archive, content);
+		try (org.apache.tools.zip.ZipFile zip = new org.apache.tools.zip.ZipFile(archive)) {
+			assertNotNull(zip.getEntry("root/"));
+			assertNotNull(zip.getEntry("root/a/"));
+			assertNotNull(zip.getEntry("root/a/b/"));
+			assertEquals(0644, zip.getEntry("root/a/file.txt").getUnixMode() & 0777);
+			assertEquals(0755, zip.getEntry("root/a/b/run.sh").getUnixMode() & 0777);
+			if (supportsLinks()) {
+				org.apache.tools.zip.ZipEntry link = zip.getEntry("root/a/link.sh");
+				assertEquals(UnixStat.LINK_FLAG, link.getUnixMode() & UnixStat.LINK_FLAG);
+				try (InputStream input = zip.getInputStream(link)) {
+					assertEquals("b/run.sh", new String(input.readAllBytes(), StandardCharsets.UTF_8));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testZipUpdate() throws Exception {
+		IFolder buildFolder = newTest("archiveZipUpdate");
+		File content = createContent(buildFolder);
+		runArchive(buildFolder, "zipfileset", "test.zip", false);
+
+		write(new File(content, "a/file.txt"), "changed");
+		write(new File(content, "a/new.txt"), "new");
+		runArchive(buildFolder, "zipfileset", "test.zip", true, "<zipfileset dir=\"content\" includes=\"a/file.txt, a/new.txt\" prefix=\"root\" />");
+
+		File archive = buildFolder.getFile("test.zip").getLocation().toFile();
+		assertZipEntries(archive, content);
+		try (org.apache.tools.zip.ZipFile zip = new org.apache.tools.zip.ZipFile(archive)) {
+			//The entries kept from the previous archive keep their mode
+			assertEquals(0755, zip.getEntry("root/a/b/run.sh").getUnixMode() & 0777);
+			if (supportsLinks())
+				assertEquals(UnixStat.LINK_FLAG, zip.getEntry("root/a/link.sh").getUnixMode() & UnixStat.LINK_FLAG);
+			assertEquals(1, Collections.list(zip.getEntries()).stream().filter(entry -> entry.getName().equals("root/a/file.txt")).count());
+		}
+	}
+
+	@Test
+	public void testTarGz() throws Exception {
+		IFolder buildFolder = newTest("archiveTarGz");
+		File content = createContent(buildFolder);
+
+		runArchive(buildFolder, "tarfileset", "test.tar.gz", false);
+		assertTarEntries(buildFolder.getFile("test.tar.gz").getLocation().toFile(), content);
+	}
+
+	@Test
+	public void testTarGzUpdate() throws Exception {
+		IFolder buildFolder = newTest("archiveTarGzUpdate");
+		File content = createContent(buildFolder);
+		runArchive(buildFolder, "tarfileset", "test.tar.gz", false);
+
+		write(new File(content, "a/file.txt"), "changed");
+		write(new File(content, "a/new.txt"), "new");
+		runArchive(buildFolder, "tarfileset", "test.tar.gz", true, "<tarfileset dir=\"content\" includes=\"a/file.txt, a/new.txt\" prefix=\"root\" />");
+
+		assertTarEntries(buildFolder.getFile("test.tar.gz").getLocation().toFile(), content);
+	}
+
+	@Test
+	public void testZip64EntryCount() throws Exception {
+		IFolder buildFolder = newTest("archiveZip64Count");
+		File content = new File(buildFolder.getLocation().toFile(), "content");
+		int count = 0x10000 + 10;
+		for (int i = 0; i < count; i++) {
+			write(new File(content, "many/" + (i % 100) + "/file" + i + ".txt"), Integer.toString(i));
+		}
+
+		runArchive(buildFolder, "zipfileset", "test.zip", false, "<zipfileset dir=\"content\" />");
+
+		try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(buildFolder.getFile("test.zip").getLocation().toFile())) {
+			//The files, their 100 folders and the many/ folder
+			assertEquals(count + 101, zip.size());
+			java.util.zip.ZipEntry last = zip.getEntry("many/" + ((count - 1) % 100) + "/file" + (count - 1) + ".txt");
+			try (InputStream input = zip.getInputStream(last)) {
+				assertEquals(Integer.toString(count - 1), new String(input.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+	}
+
+	/*
+	 * Deflates and inflates an entry of more than 4 GiB, only run when the "pde.build.includeLargeArchives"
+	 * system property is defined.
+	 */
+	@Test
+	public void testZip64EntrySize() throws Exception {
+		assumeTrue(System.getProperty("pde.build.includeLargeArchives") != null);
+		IFolder buildFolder = newTest("archiveZip64Size");
+		File content = new File(buildFolder.getLocation().toFile(), "content");
+		content.mkdirs();
+		long size = 0xFFFFFFFFL + 1024;
+		//A sparse file, it is streamed through the task rather than held in memory
+		try (RandomAccessFile file = new RandomAccessFile(new File(content, "huge.bin"), "rw")) {
+			file.setLength(size);
+		}
+
+		runArchive(buildFolder, "zipfileset", "test.zip", false, "<zipfileset dir=\"content\" />");
+
+		try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(buildFolder.getFile("test.zip").getLocation().toFile())) {
+			java.util.zip.ZipEntry entry = zip.getEntry("huge.bin");
+			assertEquals(size, entry.getSize());
+			CRC32 crc = new CRC32();
+			long read = 0;
+			try (InputStream input = zip.getInputStream(entry)) {
+				byte[] buffer = new byte[64 * 1024];
+				for (int count = input.read(buffer); count != -1; count = input.read(buffer)) {
+					crc.update(buffer, 0, count);
+					read += count;
+				}
+			}
+			assertEquals(size, read);
+			assertEquals(entry.getCrc(), crc.getValue());
+		}
+	}
+
+	/*
+	 * Create a folder with a small file, an executable script, a link to the script and a large file.
+	 */
+	private File createContent(IFolder buildFolder) throws IOException {
+		File content = new File(buildFolder.getLocation().toFile(), "content");
+		write(new File(content, "a/file.txt"), "data");
+		write(new File(content, "a/b/run.sh"), "#!/bin/sh");
+		byte[] large = new byte[LARGE_SIZE];
+		new Random(42).nextBytes(large);
+		Files.write(new File(content, "a/large.bin").toPath(), large);
+		if (supportsLinks())
+			Files.createSymbolicLink(new File(content, "a/link.sh").toPath(), new File("b/run.sh").toPath());
+		return content;
+	}
+
+	private static boolean supportsLinks() {
+		return !Platform.getOS().equals(Platform.OS_WIN32);
+	}
+
+	private static void write(File file, String text) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void runArchive(IFolder buildFolder, String fileSet, String destination, boolean update) throws Exception {
+		runArchive(buildFolder, fileSet, destination, update, "<" + fileSet + " dir=\"content\" includes=\"a/**\" excludes=\"a/b/run.sh\" prefix=\"root\" />\n" + "<" + fileSet + " dir=\"content\" includes=\"a/b/run.sh\" filemode=\"755\" prefix=\"root\" />");
+	}
+
+	private void runArchive(IFolder buildFolder, String fileSet, String destination, boolean update, String fileSets) throws Exception {
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project default=\"main\">                                           \n");
+		buffer.append("   <target name=\"main\" >                                           \n");
+		buffer.append("      <eclipse.archive destfile=\"" + destination + "\" update=\"" + update + "\" >\n");
+		buffer.append(fileSets);
+		buffer.append("      </eclipse.archive>                                             \n");
+		buffer.append("   </target>                                                         \n");
+		buffer.append("</project>                                                           \n");
+
+		IFile buildXml = buildFolder.getFile("archive.xml");
+		Utils.writeBuffer(buildXml, buffer);
+		runAntScript(buildXml.getLocation().toOSString(), new String[] {"main"}, buildFolder.getLocation().toOSString(), null);
+	}
+
+	private void assertZipEntries(File archive, File content) throws IOException {
+		try (java.util.zip.ZipFile zip = new java.util.zip.ZipFile(archive)) {
+			for (String path : getFiles(content)) {
+				java.util.zip.ZipEntry entry = zip.getEntry("root/" + path);
+				assertNotNull("Missing entry in archive: " + path, entry);
+				try (InputStream input = zip.getInputStream(entry)) {
+					assertArrayEquals(path, Files.readAllBytes(new File(content, path).toPath()), input.readAllBytes());
+				}
+			}
+		}
+	}
+
+	private void assertTarEntries(File archive, File content) throws IOException {
+		Map<String, TarEntry> entries = new HashMap<>();
+		Map<String, byte[]> data = new HashMap<>();
+		try (TarInputStream tar = new TarInputStream(new GZIPInputStream(new FileInputStream(archive)))) {
+			for (TarEntry entry = tar.getNextEntry(); entry != null; entry = tar.getNextEntry()) {
+				assertNull("Duplicate entry in archive: " + entry.getName(), entries.put(entry.getName(), entry));
+				if (entry.isFile()) {
+					ByteArrayOutputStream output = new ByteArrayOutputStream();
+					tar.copyEntryContents(output);
+					data.put(entry.getName(), output.toByteArray());
+				}
+			}
+		}
+
+		assertTrue(entries.get("root/a/").isDirectory());
+		assertTrue(entries.get("root/a/b/").isDirectory());
+		for (String path : getFiles(content)) {
+			assertArrayEquals(path, Files.readAllBytes(new File(content, path).toPath()), data.get("root/" + path));
+		}
+		assertEquals(0644, entries.get("root/a/file.txt").getMode() & 0777);
+		assertEquals(0755, entries.get("root/a/b/run.sh").getMode() & 0777);
+		if (supportsLinks()) {
+			TarEntry link = entries.get("root/a/link.sh");
+			assertTrue(link.isSymbolicLink());
+			assertEquals("b/run.sh", link.getLinkName());
+		}
+	}
+
+	/*
+	 * The regular files of the content, relative to the content folder
+	 */
+	private static List<String> getFiles(File content) throws IOException {
+		List<String> result = new ArrayList<>();
+		try (java.util.stream.Stream<java.nio.file.Path> paths = Files.walk(content.toPath())) {
+			paths.filter(path -> Files.isRegularFile(path, java.nio.file.LinkOption.NOFOLLOW_LINKS)).forEach(path -> result.add(content.toPath().relativize(path).toString().replace(File.separatorChar, '/')));
+		}
+		return result;
+	}
+}
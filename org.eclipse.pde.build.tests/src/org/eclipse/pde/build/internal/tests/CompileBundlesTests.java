@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.pde.build.tests.PDETestCase;
+import org.junit.Test;
+
+/**
+ * Compile bundles with the eclipse.compileBundles task, the ones described by the task are compiled without
+ * their build.xml, the others run their build.jars target.
+ */
+public class CompileBundlesTests extends PDETestCase {
+
+	@Test
+	public void testDirectAndBuildXml() throws Exception {
+		IFolder buildFolder = newTest("compileBundles");
+		File root = buildFolder.getLocation().toFile();
+		write(new File(root, "a/src/a/A.java"), "package a;\npublic class A {\npublic static int one() { return 1; }\n}\n");
+		write(new File(root, "a/src/a/data.txt"), "data");
+		write(new File(root, "b/src/b/B.java"), "package b;\npublic class B {\nint two() { return a.A.one() + 1; }\n}\n");
+
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project name=\"b\" default=\"build.jars\">                               \n");
+		buffer.append("   <target name=\"build.jars\" >                                          \n");
+		buffer.append("      <mkdir dir=\"bin\" />                                               \n");
+		buffer.append("      <javac srcdir=\"src\" destdir=\"bin\" classpath=\"../a/@dot\" source=\"1.8\" target=\"1.8\" includeAntRuntime=\"false\" />\n");
+		buffer.append("      <echo file=\"ran.txt\" message=\"build.jars\" />                    \n");
+		buffer.append("   </target>                                                              \n");
+		buffer.append("</project>                                                                \n");
+		Utils.writeBuffer(buildFolder.getFile("b/build.xml"), buffer);
+
+		buffer = new StringBuffer();
+		buffer.append("<bundle id=\"1\" dir=\"a\" name=\"a_1.0.0\">                              \n");
+		buffer.append("   <entry name=\".\" destdir=\"$${build.result.folder}/@dot\" available=\"$${build.result.folder}/a.jar\" modular=\"true\" resourceExcludes=\"**/*.java\">\n");
+		buffer.append("      <src path=\"src/\" />                                               \n");
+		buffer.append("   </entry>                                                               \n");
+		buffer.append("</bundle>                                                                 \n");
+		buffer.append("<bundle id=\"2\" dir=\"b\" requires=\"1\" />                              \n");
+		runCompile(buildFolder, buffer);
+
+		assertTrue(new File(root, "a/@dot/a/A.class").isFile());
+		assertTrue(new File(root, "a/@dot/a/data.txt").isFile());
+		assertFalse(new File(root, "a/@dot/a/A.java").exists());
+		assertFalse(new File(root, "a/compilation.problem").exists());
+		assertTrue(new File(root, "b/bin/b/B.class").isFile());
+		assertEquals("build.jars", read(new File(root, "b/ran.txt")));
+	}
+
+	@Test
+	public void testCompileErrors() throws Exception {
+		IFolder buildFolder = newTest("compileBundlesErrors");
+		File root = buildFolder.getLocation().toFile();
+		write(new File(root, "a/src/a/A.java"), "package a;\npublic class A {\nint broken() { return missing(); }\n}\n");
+		write(new File(root, "b/src/b/B.java"), "package b;\npublic class B {\nint broken() { return missing(); }\n}\n");
+
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<bundle id=\"1\" dir=\"a\" name=\"a_1.0.0\">                              \n");
+		buffer.append("   <entry name=\".\" destdir=\"$${build.result.folder}/@dot\" available=\"$${build.result.folder}/a.jar\" modular=\"true\" resourceExcludes=\"**/*.java\">\n");
+		buffer.append("      <src path=\"src/\" />                                               \n");
+		buffer.append("   </entry>                                                               \n");
+		buffer.append("</bundle>                                                                 \n");
+		buffer.append("<bundle id=\"2\" dir=\"b\" requires=\"1\" name=\"b_1.0.0\">               \n");
+		buffer.append("   <prerequisite path=\"../a/compilation.problem\" />                     \n");
+		buffer.append("   <entry name=\".\" destdir=\"$${basedir}/@dot\" available=\"$${build.result.folder}/b.jar\" modular=\"true\" resourceExcludes=\"**/*.java\">\n");
+		buffer.append("      <src path=\"src/\" />                                               \n");
+		buffer.append("   </entry>                                                               \n");
+		buffer.append("</bundle>                                                                 \n");
+		runCompile(buildFolder, buffer);
+
+		//Same markers and log as the checkCompilationResults target of the build.xml
+		assertLogContainsLines(buildFolder.getFile("a/compilation.problem"), new String[] {"a_1.0.0", "compilation.error.occured=true"});
+		assertLogContainsLines(buildFolder.getFile("b/compilation.problem"), new String[] {"b_1.0.0", "compilation.error.occured=true"});
+		assertLogContainsLines(buildFolder.getFile("prereqErrors.log"), new String[] {"b_1.0.0: the following prerequisites contain compile errors", "a_1.0.0"});
+	}
+
+	private static void write(File file, String text) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private void runCompile(IFolder buildFolder, StringBuffer bundles) throws Exception {
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project default=\"main\">                                                  \n");
+		buffer.append("   <target name=\"main\" >                                                  \n");
+		buffer.append("      <eclipse.compileBundles threadCount=\"2\">                            \n");
+		buffer.append(bundles);
+		buffer.append("      </eclipse.compileBundles>                                             \n");
+		buffer.append("   </target>                                                                \n");
+		buffer.append("</project>                                                                  \n");
+
+		IFile buildXml = buildFolder.getFile("compile.xml");
+		Utils.writeBuffer(buildXml, buffer);
+		Properties properties = new Properties();
+		properties.put("buildDirectory", buildFolder.getLocation().toOSString());
+		properties.put("javacSource", "1.8");
+		properties.put("javacTarget", "1.8");
+		runAntScript(buildXml.getLocation().toOSString(), new String[] {"main"}, buildFolder.getLocation().toOSString(), properties);
+	}
+}
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.pde.build.tests.PDETestCase;
+import org.junit.Test;
+
+/**
+ * Compile a class twice with the eclipse.compileCache task, the nested tasks record each of their runs.
+ */
+public class CompileCacheTests extends PDETestCase {
+
+	@Test
+	public void testHitAndMiss() throws Exception {
+		IFolder buildFolder = newTest("compileCacheHit");
+		File root = buildFolder.getLocation().toFile();
+		writeSource(root, "");
+		writeJar(root, "first");
+
+		runCompile(buildFolder, "-g");
+		assertEquals(1, getRuns(root));
+		assertTrue(new File(root, "bin/a/A.class").isFile());
+
+		//Same inputs, the output and the log are restored
+		clean(root);
+		runCompile(buildFolder, "-g");
+		assertEquals(1, getRuns(root));
+		assertLogContainsLine(buildFolder.getFile("log.log"), "Restored");
+		assertTrue(new File(root, "bin/a/A.class").isFile());
+		assertEquals("compiled", read(new File(root, "compile.log")));
+
+		writeSource(root, "public int b() { return 1; }");
+		runCompile(buildFolder, "-g");
+		assertEquals(2, getRuns(root));
+
+		writeJar(root, "second jar");
+		runCompile(buildFolder, "-g");
+		assertEquals(3, getRuns(root));
+
+		runCompile(buildFolder, "-g:none");
+		assertEquals(4, getRuns(root));
+
+		runCompile(buildFolder, "-g:none");
+		assertEquals(4, getRuns(root));
+	}
+
+	@Test
+	public void testRestoreOutsideOutput() throws Exception {
+		IFolder buildFolder = newTest("compileCacheRestore");
+		File root = buildFolder.getLocation().toFile();
+		writeSource(root, "");
+		writeJar(root, "first");
+
+		runCompile(buildFolder, "-g");
+		assertEquals(1, getRuns(root));
+		File[] entries = new File(root, "cache").listFiles();
+		assertEquals(1, entries.length);
+		File cachedOutput = new File(entries[0], "output.zip");
+		assertTrue(cachedOutput.isFile());
+
+		//The entries of the cached output can not be written outside the output folder, the nested tasks are run instead
+		int runs = 1;
+		for (String name : new String[] {"../escaped.txt", "../bin2/escaped.txt"}) {
+			try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(cachedOutput))) {
+				output.putNextEntry(new ZipEntry(name));
+				output.write("escaped".getBytes(StandardCharsets.UTF_8));
+				output.closeEntry();
+			}
+			clean(root);
+			runCompile(buildFolder, "-g");
+			assertEquals(++runs, getRuns(root));
+			assertLogContainsLine(buildFolder.getFile("log.log"), "Could not restore");
+			assertFalse(new File(new File(root, "bin"), name).exists());
+			assertTrue(new File(root, "bin/a/A.class").isFile());
+		}
+	}
+
+	private static void writeSource(File root, String body) throws IOException {
+		write(new File(root, "src/a/A.java"), "package a;\npublic class A {\n" + body + "\n}\n");
+	}
+
+	private static void writeJar(File root, String content) throws IOException {
+		File jar = new File(root, "lib/lib.jar");
+		jar.getParentFile().mkdirs();
+		try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+			output.putNextEntry(new ZipEntry("data.txt"));
+			output.write(content.getBytes(StandardCharsets.UTF_8));
+			output.closeEntry();
+		}
+	}
+
+	private static void write(File file, String text) throws IOException {
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static String read(File file) throws IOException {
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	//Remove the output of the previous compilation
+	private static void clean(File root) throws IOException {
+		File bin = new File(root, "bin");
+		if (bin.isDirectory()) {
+			try (java.util.stream.Stream<java.nio.file.Path> paths = Files.walk(bin.toPath())) {
+				paths.sorted(java.util.Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+		new File(root, "compile.log").delete();
+	}
+
+	//The number of times the nested tasks have been run
+	private static int getRuns(File root) throws IOException {
+		File runs = new File(root, "runs.txt");
+		return runs.isFile() ? read(runs).length() : 0;
+	}
+
+	private void runCompile(IFolder buildFolder, String compilerArg) throws Exception {
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project default=\"main\">                                                  \n");
+		buffer.append("   <path id=\"cp\">                                                         \n");
+		buffer.append("      <pathelement location=\"lib/lib.jar\" />                              \n");
+		buffer.append("   </path>                                                                  \n");
+		buffer.append("   <target name=\"main\" >                                                  \n");
+		buffer.append("      <eclipse.compileCache cache=\"cache\" output=\"bin\" classpathRef=\"cp\" inputs=\"src\" log=\"compile.log\">\n");
+		buffer.append("         <mkdir dir=\"bin\" />                                              \n");
+		buffer.append("         <javac srcdir=\"src\" destdir=\"bin\" classpathref=\"cp\" includeAntRuntime=\"false\" >\n");
+		buffer.append("            <compilerarg line=\"${compilerArg}\" />                         \n");
+		buffer.append("         </javac>                                                           \n");
+		buffer.append("         <echo file=\"compile.log\" message=\"compiled\" />                 \n");
+		buffer.append("         <echo file=\"runs.txt\" append=\"true\" message=\"x\" />           \n");
+		buffer.append("      </eclipse.compileCache>                                               \n");
+		buffer.append("   </target>                                                                \n");
+		buffer.append("</project>                                                                  \n");
+
+		IFile buildXml = buildFolder.getFile("compile.xml");
+		Utils.writeBuffer(buildXml, buffer);
+		Properties properties = new Properties();
+		properties.put("compilerArg", compilerArg);
+		runAntScript(buildXml.getLocation().toOSString(), new String[] {"main"}, buildFolder.getLocation().toOSString(), properties);
+	}
+}
@@ -17,6 +17,7 @@ import static org.junit.Assert.*;
 import static org.junit.Assume.assumeTrue;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.net.URL;
 import java.util.*;
 import java.util.jar.Attributes;
@@ -28,6 +29,8 @@ import org.eclipse.pde.build.tests.BuildConfiguration;
 import org.eclipse.pde.build.tests.PDETestCase;
 import org.eclipse.pde.internal.build.FetchScriptGenerator;
 import org.eclipse.pde.internal.build.IPDEBuildConstants;
+import org.eclipse.pde.internal.build.ant.AntScript;
+import org.eclipse.pde.internal.build.fetch.P2IUFetchFactory;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -341,6 +344,72 @@ public class FetchTests extends PDETestCase {
 		assertResourceFile(buildFolder, "plugins/aBundle_1.0.0.jar");
 	}
 
+	@Test
+	public void testBatchP2FeatureRetrieval() throws Exception {
+		IFolder buildFolder = newTest("p2.batchRetrieval");
+		IFolder source = Utils.createFolder(buildFolder, "source");
+		// the id of the first feature is a prefix of the folder of the second one
+		for (String id : new String[] { "a", "a_b" }) {
+			Utils.generateFeature(source, id, null, null, "1.0.0");
+			Properties properties = new Properties();
+			properties.put("bin.includes", "feature.xml,build.properties");
+			properties.put("marker", id);
+			Utils.storeProperties(source.getFile("features/" + id + "/build.properties"), properties);
+		}
+
+		String repoLocation = URIUtil.toUnencodedString(buildFolder.getFolder("repo").getLocationURI());
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("<project name=\"test\" default=\"publish\">			\n");
+		buffer.append("   <target name=\"publish\">							\n");
+		buffer.append("      <p2.publish.featuresAndBundles 					\n");
+		buffer.append("          source=\"" + source.getLocation().toOSString() + "\"	\n");
+		buffer.append("          artifactRepository=\"" + repoLocation + "\" 	\n");
+		buffer.append("          metadataRepository=\"" + repoLocation + "\" 	\n");
+		buffer.append("          publishArtifacts=\"true\" />					\n");
+		buffer.append("   </target>												\n");
+		buffer.append("</project>												\n");
+		IFile publish = buildFolder.getFile("publish.xml");
+		Utils.writeBuffer(publish, buffer);
+		runAntScript(publish.getLocation().toOSString(), new String[] { "publish" },
+				buildFolder.getLocation().toOSString(), null);
+
+		// the map file entries of features use the id of the feature jar IU, without version for the first one
+		P2IUFetchFactory factory = new P2IUFetchFactory();
+		List<Map<String, Object>> entries = new ArrayList<>();
+		List<IPath> destinations = new ArrayList<>();
+		for (String entry : new String[] { "id=a.feature.jar,repository=" + repoLocation,
+				"id=a_b.feature.jar,version=1.0.0,repository=" + repoLocation }) {
+			Map<String, Object> entryInfos = new HashMap<>();
+			factory.parseMapFileEntry(entry, null, entryInfos);
+			entries.add(entryInfos);
+			destinations.add(Utils.createFolder(buildFolder, "retrieved" + entries.size()).getLocation());
+		}
+
+		IFile retrieve = buildFolder.getFile("retrieve.xml");
+		AntScript script = new AntScript(new FileOutputStream(retrieve.getLocation().toFile()));
+		try {
+			script.printProjectDeclaration("RetrieveFeatures", "main", ".");
+			script.printTargetDeclaration("main", null, null, null, null);
+			factory.generateRetrieveFilesCalls(entries, destinations, new String[] { "feature.xml", "build.properties" },
+					buildFolder.getFolder("temp").getLocation(), script);
+			script.printTargetEnd();
+			factory.addTargets(script);
+			script.printProjectEnd();
+		} finally {
+			script.close();
+		}
+		runAntScript(retrieve.getLocation().toOSString(), new String[] { "main" },
+				buildFolder.getLocation().toOSString(), null);
+
+		String[] ids = new String[] { "a", "a_b" };
+		for (int i = 0; i < ids.length; i++) {
+			IFolder retrieved = buildFolder.getFolder("retrieved" + (i + 1));
+			assertLogContainsLine(retrieved.getFile("feature.xml"), "id=\"" + ids[i] + "\"");
+			assertEquals(ids[i], Utils.loadProperties(retrieved.getFile("build.properties")).get("marker"));
+		}
+		assertFalse(buildFolder.getFolder("temp").getLocation().toFile().exists());
+	}
+
 	@Test
 	public void testBug306510() throws Exception {
 		IFolder buildFolder = newTest("306510");
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.VersionRange;
+import org.eclipse.pde.build.tests.PDETestCase;
+import org.eclipse.pde.internal.build.site.*;
+import org.junit.Test;
+
+/**
+ * The bundles rejected by a filtering state before their manifest is parsed must be the ones that
+ * would have been rejected once their description is created.
+ */
+public class FilteringStateTests extends PDETestCase {
+
+	//The state as it was before the manifests were scanned, the bundles are only filtered once parsed
+	private static class PostFilteringState extends FilteringState {
+		@Override
+		protected boolean acceptBundle(File bundleLocation) {
+			return true;
+		}
+	}
+
+	private static class PreFilteringState extends FilteringState {
+		final Set<String> rejected = Collections.synchronizedSet(new TreeSet<>());
+
+		@Override
+		protected boolean acceptBundle(File bundleLocation) {
+			boolean accepted = super.acceptBundle(bundleLocation);
+			if (!accepted)
+				rejected.add(bundleLocation.getName());
+			return accepted;
+		}
+	}
+
+	@Test
+	public void testPreFilter() throws Exception {
+		IFolder buildFolder = newTest("filteringState");
+		File plugins = new File(buildFolder.getLocation().toFile(), "plugins");
+
+		List<File> bundles = new ArrayList<>();
+		bundles.add(createBundle(plugins, "a", false, manifest("Bundle-SymbolicName: a;singleton:=true", "Bundle-Version: 1.0.0")));
+		bundles.add(createBundle(plugins, "b", false, manifest("Bundle-SymbolicName: b", "Bundle-Version: 2.0.0")));
+		bundles.add(createBundle(plugins, "c_1.0.0.qualifier.jar", true, manifest("Bundle-SymbolicName: c", "Bundle-Version: 1.0.0.qualifier")));
+		//A version with a qualifier is only checked once the manifest is parsed, the post filter rejects it
+		bundles.add(createBundle(plugins, "d", false, manifest("Bundle-SymbolicName: d", "Bundle-Version: 1.0.0.qualifier")));
+		bundles.add(createBundle(plugins, "e", false, manifest("Bundle-SymbolicName: e", "Bundle-Version: 1.0.0")));
+		bundles.add(createBundle(plugins, "wrapped", false, manifest("Bundle-SymbolicName: org.eclipse.pde.build.tests.filtering.a.very.long.symb", " olic.name;singleton:=true", "Bundle-Version: 3.2", " .1")));
+		bundles.add(createBundle(plugins, "wrapped.jar", true, manifest("Bundle-SymbolicName: org.eclipse.pde.build.tests.filtering.another.long.sy", " mbolic.name", "Bundle-Version: 3.2", " .1")));
+		//The headers are matched regardless of their case
+		bundles.add(createBundle(plugins, "lower", false, manifest("bundle-symbolicname: lower", "bundle-version: 1.0.0")));
+		bundles.add(createBundle(plugins, "noVersion", false, manifest("Bundle-SymbolicName: noVersion")));
+		bundles.add(createBundle(plugins, "crlf.jar", true, manifest("Bundle-Version: 1.0.0", "Bundle-SymbolicName: crlf").replace("\n", "\r\n")));
+
+		SortedSet<ReachablePlugin> filter = new TreeSet<>();
+		filter.add(new ReachablePlugin("a", new VersionRange("[1.0.0,1.0.0]")));
+		filter.add(new ReachablePlugin("b", new VersionRange("[1.0.0,1.0.0]")));
+		filter.add(new ReachablePlugin("c", new VersionRange("[1.0.0,2.0.0)")));
+		filter.add(new ReachablePlugin("d", new VersionRange("[2.0.0,3.0.0)")));
+		filter.add(new ReachablePlugin("org.eclipse.pde.build.tests.filtering.a.very.long.symbolic.name", new VersionRange("[3.2.1,3.2.1]")));
+		filter.add(new ReachablePlugin("org.eclipse.pde.build.tests.filtering.another.long.symbolic.name", new VersionRange("[3.2.0,3.2.0]")));
+		filter.add(new ReachablePlugin("lower", new VersionRange("[2.0.0,2.0.0]")));
+		filter.add(new ReachablePlugin("noVersion", new VersionRange("[0.0.0,0.0.0]")));
+		filter.add(new ReachablePlugin("crlf", new VersionRange("[1.0.0,1.0.0]")));
+
+		PostFilteringState postFiltering = new PostFilteringState();
+		postFiltering.setFilter(filter);
+		postFiltering.addBundles(bundles);
+
+		PreFilteringState preFiltering = new PreFilteringState();
+		preFiltering.setFilter(filter);
+		preFiltering.addBundles(bundles);
+
+		Set<String> expected = new TreeSet<>(Arrays.asList("a", "c", "org.eclipse.pde.build.tests.filtering.a.very.long.symbolic.name", "noVersion", "crlf"));
+		assertEquals(expected, getSymbolicNames(postFiltering));
+		assertEquals(getBundles(postFiltering), getBundles(preFiltering));
+		//The bundles whose version has a qualifier are only rejected once parsed
+		assertEquals(new TreeSet<>(Arrays.asList("b", "e", "lower", "wrapped.jar")), preFiltering.rejected);
+	}
+
+	private static String manifest(String... headers) {
+		StringBuffer buffer = new StringBuffer();
+		buffer.append("Manifest-Version: 1.0\n");
+		buffer.append("Bundle-ManifestVersion: 2\n");
+		for (String header : headers) {
+			buffer.append(header);
+			buffer.append('\n');
+		}
+		buffer.append("Bundle-Name: Filtering test\n");
+		buffer.append('\n');
+		return buffer.toString();
+	}
+
+	private static File createBundle(File plugins, String name, boolean jar, String manifest) throws IOException {
+		File bundle = new File(plugins, name);
+		byte[] content = manifest.getBytes(StandardCharsets.UTF_8);
+		if (jar) {
+			plugins.mkdirs();
+			try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(bundle))) {
+				output.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+				output.write(content);
+				output.closeEntry();
+			}
+		} else {
+			File manifestFile = new File(bundle, "META-INF/MANIFEST.MF");
+			manifestFile.getParentFile().mkdirs();
+			Files.write(manifestFile.toPath(), content);
+		}
+		return bundle;
+	}
+
+	private static Set<String> getSymbolicNames(PDEState state) {
+		Set<String> result = new TreeSet<>();
+		for (BundleDescription bundle : state.getState().getBundles()) {
+			result.add(bundle.getSymbolicName());
+		}
+		return result;
+	}
+
+	private static Set<String> getBundles(PDEState state) {
+		Set<String> result = new TreeSet<>();
+		for (BundleDescription bundle : state.getState().getBundles()) {
+			result.add(bundle.getSymbolicName() + '_' + bundle.getVersion() + '@' + bundle.getLocation());
+		}
+		return result;
+	}
+}
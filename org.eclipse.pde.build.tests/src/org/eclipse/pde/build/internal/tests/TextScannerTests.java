@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.pde.internal.build.TextScanner;
+import org.junit.Test;
+
+public class TextScannerTests {
+
+	@Test
+	public void testCaseFolding() {
+		String text = "<?xml version=\"1.0\"?>\n<FEATURE id=\"a\">";
+		assertEquals(22, TextScanner.scan(text, 0, "<feature", true, false));
+		assertEquals(-1, TextScanner.scan(text, 0, "<feature", false, false));
+		assertEquals(22, TextScanner.scan(text, 0, "<FEATURE", false, false));
+		//Same folding as String#equalsIgnoreCase
+		assertEquals(1, TextScanner.scan("<ΣΙ ", 0, "σι", true, false));
+		assertTrue(TextScanner.matches(text, 22, "<Feature", true));
+		assertFalse(TextScanner.matches(text, 22, "<Feature", false));
+	}
+
+	@Test
+	public void testWholeWord() {
+		String text = "<plugins> <plugin\tid=\"a\"/>";
+		assertEquals(0, TextScanner.scan(text, 0, "<plugin", false, false));
+		assertEquals(10, TextScanner.scan(text, 0, "<plugin", false, true));
+		assertEquals(10, TextScanner.scan(text, 0, new String[] {"<fragment", "<plugin"}, false, true));
+		assertEquals(-1, TextScanner.scan(text, 11, "<plugin", false, true));
+		assertEquals(12, TextScanner.scan("<plugin=\"a\"\n<plugin\n", 0, "<plugin", true, true));
+	}
+
+	@Test
+	public void testStart() {
+		String text = "<plugin id=\"a\"/><plugin id=\"b\"/>";
+		assertEquals(16, TextScanner.scan(text, 1, "<plugin", false, false));
+		assertEquals(16, TextScanner.scan(text, 16, "<plugin", false, false));
+		assertEquals(-1, TextScanner.scan(text, 17, "<plugin", false, false));
+	}
+
+	@Test
+	public void testMatchAtEnd() {
+		//An occurrence is only found if it is followed by at least one character
+		assertEquals(-1, TextScanner.scan("abc<plugin", 0, "<plugin", false, false));
+		assertEquals(3, TextScanner.scan("abc<plugin>", 0, "<plugin", false, false));
+		assertEquals(-1, TextScanner.scan("abc<plugin", 0, new String[] {"<plugin"}, false, false));
+		assertEquals(-1, TextScanner.scanNoComment("abc<plugin", 0, "<plugin", false, false));
+		assertFalse(TextScanner.matches("abc<plugin", 3, "<plugin", false));
+		assertTrue(TextScanner.matches("abc<plugin ", 3, "<plugin", false));
+		assertFalse(TextScanner.matches("abc", 3, "", false));
+		assertFalse(TextScanner.matches("abc", -1, "a", false));
+		//The whole word check needs the following character
+		assertEquals(-1, TextScanner.scan("<plugin", 0, "<plugin", false, true));
+	}
+
+	@Test
+	public void testComments() {
+		String text = "<!-- <plugin id=\"a\"/> --> <plugin id=\"b\"/>";
+		assertEquals(5, TextScanner.scan(text, 0, "<plugin", false, false));
+		assertEquals(26, TextScanner.scanNoComment(text, 0, "<plugin", false, false));
+		//A search starting in a comment does not know about it
+		assertEquals(5, TextScanner.scanNoComment(text, 1, "<plugin", false, false));
+	}
+
+	@Test
+	public void testSecondComment() {
+		String text = "<!-- first --> <!-- <plugin id=\"a\"/> --> <plugin id=\"b\"/>";
+		assertEquals(41, TextScanner.scanNoComment(text, 0, "<plugin", false, false));
+		assertEquals(41, TextScanner.scanNoComment(text, 0, new String[] {"<fragment", "<plugin"}, false, true));
+
+		text = "<!-- first --> <plugin id=\"a\"/> <!-- <plugin id=\"b\"/> -->\n";
+		assertEquals(15, TextScanner.scanNoComment(text, 0, "<plugin", false, false));
+		assertEquals(-1, TextScanner.scanNoComment(text, 16, "<plugin", false, false));
+		//The end of a comment is not found on the last characters either, the comment is not skipped
+		assertEquals(37, TextScanner.scanNoComment(text.trim(), 16, "<plugin", false, false));
+	}
+
+	@Test
+	public void testTargetAfterCommentEnd() {
+		//The search resumes on the end tag of the comment
+		assertEquals(9, TextScanner.scanNoComment("<!-- a --->x", 0, "->", false, false));
+		assertEquals(9, TextScanner.scanNoComment("<!-- a -->x", 0, ">", false, false));
+		assertEquals(-1, TextScanner.scanNoComment("<!-- a -->x", 0, "a", false, false));
+	}
+
+	@Test
+	public void testUnterminatedComment() {
+		//A comment that is not closed is not skipped
+		String text = "<!-- <plugin id=\"a\"/> ";
+		assertEquals(5, TextScanner.scanNoComment(text, 0, "<plugin", false, false));
+		assertEquals(-1, TextScanner.scanNoComment("<!-- <plugin", 0, "<plugin", false, false));
+	}
+}
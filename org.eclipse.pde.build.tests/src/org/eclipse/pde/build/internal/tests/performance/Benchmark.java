@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests.performance;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Properties;
+
+/**
+ * Measure the duration of an operation over a number of iterations, after warm up iterations. The
+ * median durations are recorded and compared with the ones of a baseline.
+ * <p>
+ * The measurements are configured with the following system properties:
+ * <ul>
+ * <li><code>pde.build.performance.warmups</code>: the number of iterations not measured, 2 by default</li>
+ * <li><code>pde.build.performance.iterations</code>: the number of iterations measured, 5 by default</li>
+ * <li><code>pde.build.performance.results</code>: the properties file where the median durations are
+ * written</li>
+ * <li><code>pde.build.performance.baseline</code>: a results file from a previous run, the
+ * measurements fail if they are slower than the baseline</li>
+ * <li><code>pde.build.performance.tolerance</code>: the ratio by which a measurement can exceed the
+ * baseline, 0.5 by default</li>
+ * </ul>
+ * </p>
+ */
+public class Benchmark {
+	public static final String PROPERTY_PREFIX = "pde.build.performance.";
+
+	public interface Operation {
+		void run() throws Exception;
+	}
+
+	private final int warmups = Integer.getInteger(PROPERTY_PREFIX + "warmups", 2).intValue();
+	private final int iterations = Math.max(1, Integer.getInteger(PROPERTY_PREFIX + "iterations", 5).intValue());
+	private final double tolerance = Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "tolerance", "0.5"));
+	private final Properties results = new Properties();
+	private Properties baseline = null;
+
+	public Benchmark() throws IOException {
+		String baselineLocation = System.getProperty(PROPERTY_PREFIX + "baseline");
+		if (baselineLocation != null && baselineLocation.length() > 0) {
+			baseline = new Properties();
+			try (InputStream input = new BufferedInputStream(new FileInputStream(baselineLocation))) {
+				baseline.load(input);
+			}
+		}
+	}
+
+	/**
+	 * Record a parameter of the measurements, the measurements are only compared with a baseline
+	 * recorded with the same parameters.
+	 */
+	public void setParameter(String name, Object value) {
+		results.put("parameter." + name, String.valueOf(value));
+	}
+
+	/**
+	 * Run the operation and return its median duration in milliseconds.
+	 */
+	public double measure(String name, Operation operation) throws Exception {
+		for (int i = 0; i < warmups; i++)
+			operation.run();
+
+		long[] durations = new long[iterations];
+		for (int i = 0; i < iterations; i++) {
+			long start = System.nanoTime();
+			operation.run();
+			durations[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(durations);
+		double median = durations[iterations / 2] / 1000000d;
+		results.put(name, String.valueOf(median));
+		System.out.println("Benchmark " + name + ": " + median + " ms");
+		return median;
+	}
+
+	/**
+	 * Fail if the median duration of the given measurement exceeds the one of the baseline by more
+	 * than the tolerance.
+	 */
+	public void assertBaseline(String name) {
+		if (baseline == null || !sameParameters())
+			return;
+		String expected = baseline.getProperty(name);
+		String actual = results.getProperty(name);
+		if (expected == null || actual == null)
+			return;
+		double limit = Double.parseDouble(expected) * (1 + tolerance);
+		assertTrue(name + " took " + actual + " ms, the baseline is " + expected + " ms",
+				Double.parseDouble(actual) <= limit);
+	}
+
+	private boolean sameParameters() {
+		for (String key : results.stringPropertyNames()) {
+			if (key.startsWith("parameter.") && !results.getProperty(key).equals(baseline.getProperty(key)))
+				return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Add the measurements to the results file, if one is configured.
+	 */
+	public void storeResults() throws IOException {
+		String location = System.getProperty(PROPERTY_PREFIX + "results");
+		if (location == null || location.length() == 0)
+			return;
+		File file = new File(location);
+		Properties stored = new Properties();
+		if (file.isFile()) {
+			try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+				stored.load(input);
+			}
+		}
+		stored.putAll(results);
+		try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file))) {
+			stored.store(output, "PDE Build benchmarks");
+		}
+	}
+}
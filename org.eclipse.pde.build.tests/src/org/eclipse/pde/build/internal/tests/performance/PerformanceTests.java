@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests.performance;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.util.*;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.build.tests.PDETestCase;
+import org.eclipse.pde.internal.build.*;
+import org.eclipse.pde.internal.build.builder.*;
+import org.eclipse.pde.internal.build.builder.ModelBuildScriptGenerator.CompiledEntry;
+import org.eclipse.pde.internal.build.site.*;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Benchmarks of the steps of the script generation that depend on the size of the build. The
+ * benchmarks run on a synthetic target whose size is configured with the
+ * <code>pde.build.performance.bundles</code>, <code>pde.build.performance.features</code> and
+ * <code>pde.build.performance.fanOut</code> system properties. See {@link Benchmark} for the
+ * configuration of the measurements and of the baseline.
+ */
+public class PerformanceTests extends PDETestCase {
+	private static final int BUNDLES = Integer.getInteger(Benchmark.PROPERTY_PREFIX + "bundles", 200).intValue();
+	private static final int FEATURES = Integer.getInteger(Benchmark.PROPERTY_PREFIX + "features", 10).intValue();
+	private static final int FAN_OUT = Integer.getInteger(Benchmark.PROPERTY_PREFIX + "fanOut", 5).intValue();
+
+	private SyntheticTarget target;
+	private Benchmark benchmark;
+	private BuildTimeSiteFactory siteFactory;
+
+	@After
+	public void cleanupState() throws Exception {
+		if (siteFactory != null)
+			siteFactory.createSite().getRegistry().cleanupOriginalState();
+		siteFactory = null;
+	}
+
+	@Test
+	public void testStateBuilding() throws Exception {
+		newBenchmark();
+		List<File> bundles = target.getBundleLocations();
+		benchmark.measure("stateBuilding", () -> {
+			PDEState state = new PDEState();
+			state.addBundles(bundles);
+			state.resolveState();
+		});
+		report("stateBuilding");
+	}
+
+	@Test
+	public void testClasspathComputation() throws Exception {
+		newBenchmark();
+		BuildDirector director = createDirector();
+		List<ModelBuildScriptGenerator> generators = createModelGenerators(director);
+		List<CompiledEntry> entries = new ArrayList<>(generators.size());
+		for (ModelBuildScriptGenerator generator : generators) {
+			BundleDescription model = generator.getModel();
+			Properties properties = AbstractScriptGenerator.readProperties(model.getLocation(),
+					IPDEBuildConstants.PROPERTIES_FILE, IStatus.OK);
+			entries.add(ModelBuildScriptGenerator.extractEntriesToCompile(properties, model)[0]);
+		}
+
+		benchmark.measure("classpathComputation", () -> {
+			for (int i = 0; i < generators.size(); i++) {
+				ModelBuildScriptGenerator generator = generators.get(i);
+				new ClasspathComputer3_0(generator).getClasspath(generator.getModel(), entries.get(i));
+			}
+		});
+		report("classpathComputation");
+	}
+
+	@Test
+	public void testPluginScriptGeneration() throws Exception {
+		newBenchmark();
+		BuildDirector director = createDirector();
+		benchmark.measure("pluginScriptGeneration", () -> {
+			for (ModelBuildScriptGenerator generator : createModelGenerators(director))
+				generator.generate();
+		});
+		report("pluginScriptGeneration");
+	}
+
+	@Test
+	public void testCompileScriptGeneration() throws Exception {
+		newBenchmark();
+		BuildDirector director = createDirector();
+		director.generate(findTopFeature());
+
+		benchmark.measure("compileScriptGeneration", () -> generateCompileScript(director, false));
+		benchmark.measure("parallelCompileScriptGeneration", () -> generateCompileScript(director, true));
+		report("compileScriptGeneration", "parallelCompileScriptGeneration");
+	}
+
+	@Test
+	public void testScriptGeneration() throws Exception {
+		newBenchmark();
+		BuildTimeFeature feature = findTopFeature();
+		benchmark.measure("scriptGeneration", () -> createDirector().generate(feature));
+		report("scriptGeneration");
+	}
+
+	private void newBenchmark() throws Exception {
+		IFolder buildFolder = newTest("performance");
+		File root = buildFolder.getLocation().toFile();
+		target = new SyntheticTarget(new File(root, "build"), new File(root, "base"));
+		target.setBundleCount(BUNDLES);
+		target.setFeatureCount(FEATURES);
+		target.setFanOut(FAN_OUT);
+		target.generate();
+
+		benchmark = new Benchmark();
+		benchmark.setParameter("bundles", BUNDLES);
+		benchmark.setParameter("features", FEATURES);
+		benchmark.setParameter("fanOut", FAN_OUT);
+
+		AbstractScriptGenerator.setConfigInfo("*,*,*");
+		BuildTimeSiteFactory.setInstalledBaseSite(target.getBaseDirectory().getAbsolutePath());
+		// the working directory is shared by all the generators
+		new BuildDirector().setWorkingDirectory(target.getBuildDirectory().getAbsolutePath());
+		siteFactory = new BuildTimeSiteFactory();
+		siteFactory.setSitePaths(new String[] { target.getBuildDirectory().getAbsolutePath() });
+		siteFactory.createSite();
+	}
+
+	private void report(String... names) throws Exception {
+		benchmark.storeResults();
+		for (String name : names)
+			benchmark.assertBaseline(name);
+	}
+
+	private BuildTimeFeature findTopFeature() throws Exception {
+		return siteFactory.createSite().findFeature(SyntheticTarget.TOP_FEATURE, null, true);
+	}
+
+	private BuildDirector createDirector() {
+		BuildDirector director = new BuildDirector(new AssemblyInformation());
+		director.setBuildSiteFactory(siteFactory);
+		director.setGenerateIncludedFeatures(true);
+		director.setAnalyseChildren(true);
+		director.setBinaryFeatureGeneration(true);
+		director.setScriptGeneration(true);
+		director.setCompiledElements(director.getCompiledElements());
+		return director;
+	}
+
+	private List<ModelBuildScriptGenerator> createModelGenerators(BuildDirector director) throws Exception {
+		BuildTimeSite site = siteFactory.createSite();
+		List<ModelBuildScriptGenerator> generators = new ArrayList<>();
+		for (String id : target.getSourceBundles()) {
+			BundleDescription model = site.getRegistry().getResolvedBundle(id);
+			assertNotNull(id, model);
+			ModelBuildScriptGenerator generator = new ModelBuildScriptGenerator();
+			generator.setBuildSiteFactory(siteFactory);
+			generator.setCompiledElements(director.getCompiledElements());
+			generator.setModel(model);
+			generator.setFeatureGenerator(director);
+			generators.add(generator);
+		}
+		return generators;
+	}
+
+	private void generateCompileScript(BuildDirector director, boolean parallel) throws Exception {
+		CompilationScriptGenerator generator = new CompilationScriptGenerator();
+		generator.setBuildSiteFactory(siteFactory);
+		generator.setAssemblyData(director.getAssemblyData());
+		generator.setFeatureId(SyntheticTarget.TOP_FEATURE);
+		generator.setParallel(parallel);
+		generator.generate();
+	}
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which accompanies this distribution,
+ * and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors: IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.build.internal.tests.performance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.*;
+
+/**
+ * Generate a build directory containing a configurable number of bundles and features. The source
+ * bundles are folders in the plugins directory of the build directory and are included in the
+ * features, the binary bundles are jars in the plugins directory of the base location. Each bundle
+ * depends on the bundles generated just before it, alternating Require-Bundle and Import-Package.
+ */
+public class SyntheticTarget {
+	public static final String PREFIX = "synthetic";
+	public static final String TOP_FEATURE = PREFIX + ".all";
+
+	private final File buildDirectory;
+	private final File baseDirectory;
+	private int bundleCount = 100;
+	private int featureCount = 10;
+	private int fanOut = 4;
+	private int binaryInterval = 4;
+
+	private final List<String> sourceBundles = new ArrayList<>();
+	private final List<File> bundleLocations = new ArrayList<>();
+
+	public SyntheticTarget(File buildDirectory, File baseDirectory) {
+		this.buildDirectory = buildDirectory;
+		this.baseDirectory = baseDirectory;
+	}
+
+	public void setBundleCount(int bundleCount) {
+		this.bundleCount = bundleCount;
+	}
+
+	public void setFeatureCount(int featureCount) {
+		this.featureCount = Math.max(1, featureCount);
+	}
+
+	/**
+	 * Set the number of bundles each bundle depends on.
+	 */
+	public void setFanOut(int fanOut) {
+		this.fanOut = fanOut;
+	}
+
+	/**
+	 * Set the interval at which the bundles generated are binary jars, 0 to only generate source
+	 * bundles.
+	 */
+	public void setBinaryInterval(int binaryInterval) {
+		this.binaryInterval = binaryInterval;
+	}
+
+	public File getBuildDirectory() {
+		return buildDirectory;
+	}
+
+	public File getBaseDirectory() {
+		return baseDirectory;
+	}
+
+	/**
+	 * Return the ids of the source bundles, in the order they have been generated.
+	 */
+	public List<String> getSourceBundles() {
+		return sourceBundles;
+	}
+
+	/**
+	 * Return the locations of all the bundles, source and binary.
+	 */
+	public List<File> getBundleLocations() {
+		return bundleLocations;
+	}
+
+	public void generate() throws IOException {
+		sourceBundles.clear();
+		bundleLocations.clear();
+		File sourcePlugins = new File(buildDirectory, "plugins");
+		File binaryPlugins = new File(baseDirectory, "plugins");
+		sourcePlugins.mkdirs();
+		binaryPlugins.mkdirs();
+
+		for (int i = 0; i < bundleCount; i++) {
+			String id = getBundleId(i);
+			boolean binary = binaryInterval > 0 && i % binaryInterval == 0;
+			Manifest manifest = createManifest(i, binary ? "1.0.0.v20260101" : "1.0.0.qualifier");
+			if (binary) {
+				File jar = new File(binaryPlugins, id + "_1.0.0.v20260101.jar");
+				writeJar(jar, manifest, id);
+				bundleLocations.add(jar);
+			} else {
+				File folder = new File(sourcePlugins, id);
+				writeSourceBundle(folder, manifest, id);
+				bundleLocations.add(folder);
+				sourceBundles.add(id);
+			}
+		}
+
+		List<String> features = new ArrayList<>(featureCount);
+		for (int i = 0; i < featureCount; i++) {
+			List<String> plugins = new ArrayList<>();
+			for (int j = i; j < sourceBundles.size(); j += featureCount)
+				plugins.add(sourceBundles.get(j));
+			String id = PREFIX + ".feature" + i;
+			writeFeature(id, Collections.emptyList(), plugins);
+			features.add(id);
+		}
+		writeFeature(TOP_FEATURE, features, Collections.emptyList());
+	}
+
+	private static String getBundleId(int index) {
+		return PREFIX + ".bundle" + index;
+	}
+
+	private Manifest createManifest(int index, String version) {
+		String id = getBundleId(index);
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.put(new Attributes.Name("Bundle-ManifestVersion"), "2");
+		attributes.put(new Attributes.Name("Bundle-SymbolicName"), id);
+		attributes.put(new Attributes.Name("Bundle-Version"), version);
+		attributes.put(new Attributes.Name("Export-Package"), id);
+
+		StringBuilder requiredBundles = new StringBuilder();
+		StringBuilder importedPackages = new StringBuilder();
+		for (int i = 1; i <= fanOut && index - i >= 0; i++) {
+			StringBuilder dependencies = i % 2 == 1 ? requiredBundles : importedPackages;
+			if (dependencies.length() > 0)
+				dependencies.append(',');
+			dependencies.append(getBundleId(index - i));
+		}
+		if (requiredBundles.length() > 0)
+			attributes.put(new Attributes.Name("Require-Bundle"), requiredBundles.toString());
+		if (importedPackages.length() > 0)
+			attributes.put(new Attributes.Name("Import-Package"), importedPackages.toString());
+		return manifest;
+	}
+
+	private static void writeJar(File jar, Manifest manifest, String id) throws IOException {
+		try (JarOutputStream output = new JarOutputStream(new BufferedOutputStream(new FileOutputStream(jar)),
+				manifest)) {
+			output.putNextEntry(new JarEntry(id.replace('.', '/') + "/about.txt"));
+			output.write(id.getBytes(StandardCharsets.UTF_8));
+			output.closeEntry();
+		}
+	}
+
+	private static void writeSourceBundle(File folder, Manifest manifest, String id) throws IOException {
+		File metaInf = new File(folder, JarFile.MANIFEST_NAME).getParentFile();
+		metaInf.mkdirs();
+		try (OutputStream output = new BufferedOutputStream(
+				new FileOutputStream(new File(folder, JarFile.MANIFEST_NAME)))) {
+			manifest.write(output);
+		}
+
+		Properties buildProperties = new Properties();
+		buildProperties.put("source..", "src/");
+		buildProperties.put("output..", "bin/");
+		buildProperties.put("bin.includes", "META-INF/, .");
+		try (OutputStream output = new BufferedOutputStream(
+				new FileOutputStream(new File(folder, "build.properties")))) {
+			buildProperties.store(output, null);
+		}
+
+		File packageFolder = new File(folder, "src/" + id.replace('.', '/'));
+		packageFolder.mkdirs();
+		writeString(new File(packageFolder, "Type.java"), "package " + id + "; public class Type { }");
+	}
+
+	private void writeFeature(String id, List<String> features, List<String> plugins) throws IOException {
+		File folder = new File(buildDirectory, "features/" + id);
+		folder.mkdirs();
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("<feature id=\"" + id + "\" version=\"1.0.0.qualifier\">\n");
+		for (String feature : features)
+			buffer.append("  <includes id=\"" + feature + "\" version=\"0.0.0\"/>\n");
+		for (String plugin : plugins)
+			buffer.append("  <plugin id=\"" + plugin + "\" version=\"0.0.0\" unpack=\"false\"/>\n");
+		buffer.append("</feature>\n");
+		writeString(new File(folder, "feature.xml"), buffer.toString());
+		writeString(new File(folder, "build.properties"), "bin.includes = feature.xml\n");
+	}
+
+	private static void writeString(File file, String content) throws IOException {
+		try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+			writer.write(content);
+		}
+	}
+}
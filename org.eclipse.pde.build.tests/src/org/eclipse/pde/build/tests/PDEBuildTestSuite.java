@@ -20,6 +20,8 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ SourceTests.class, ScriptGenerationTests.class, ProductTests.class, LicenseTests.class,
-		AssembleTests.class, P2TestSuite.class, FetchTests.class })
+		AssembleTests.class, P2TestSuite.class, FetchTests.class, ArchiveTests.class,
+		FilteringStateTests.class, TextScannerTests.class, CompileCacheTests.class,
+		CompileBundlesTests.class })
 public class PDEBuildTestSuite {
 }
@@ -16,7 +16,13 @@ package org.eclipse.pde.internal.build;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import org.eclipse.core.runtime.*;
 import org.eclipse.equinox.internal.p2.engine.SimpleProfileRegistry;
 import org.eclipse.equinox.internal.p2.publisher.eclipse.ProductFile;
@@ -45,6 +51,8 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 	private static final FilenameFilter ARTIFACT_REPO_FILTER = (dir, name) -> name.startsWith("artifacts.") || name.startsWith("compositeArtifacts."); //$NON-NLS-1$ //$NON-NLS-2$
 
 	private static Properties immutableAntProperties = null;
+	//The properties files read with readCachedProperties during the current build, keyed by path
+	private static final Map<String, CachedProperties> propertiesCache = new ConcurrentHashMap<>();
 	protected static boolean embeddedSource = false;
 	protected static boolean forceUpdateJarFormat = false;
 	private static List<Config> configInfos;
@@ -52,6 +60,8 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 	protected URI[] contextMetadata = null;
 	protected URI[] contextArtifacts = null;
 	protected AntScript script;
+	private ByteArrayOutputStream scriptBuffer = null;
+	private File incrementalScript = null;
 	protected Properties platformProperties;
 	protected String productQualifier;
 
@@ -91,6 +101,7 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 	public abstract void generate() throws CoreException;
 
 	protected static void setStaticAntProperties(Properties properties) {
+		propertiesCache.clear();
 		if (properties == null) {
 			immutableAntProperties = new Properties();
 			BuildDirector.p2Gathering = false;
@@ -119,6 +130,17 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 		return false;
 	}
 
+	/**
+	 * Return a copy of all the immutable ant properties
+	 * @return Properties
+	 */
+	public static Properties getImmutableAntProperties() {
+		Properties result = new Properties();
+		if (immutableAntProperties != null)
+			result.putAll(immutableAntProperties);
+		return result;
+	}
+
 	public static String getImmutableAntProperty(String key, String defaultValue) {
 		if (immutableAntProperties == null || !immutableAntProperties.containsKey(key))
 			return defaultValue;
@@ -195,6 +217,189 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 		}
 	}
 
+	/**
+	 * Properties shared by the generators, all the methods changing their content throw an
+	 * {@link UnsupportedOperationException}, including through the views of their entries.
+	 */
+	static public class ReadOnlyProperties extends Properties {
+		private static final long serialVersionUID = 6014453718393370146L;
+
+		private transient Map<Object, Object> view;
+
+		ReadOnlyProperties(Properties content) {
+			super.putAll(content);
+		}
+
+		private Set<Map.Entry<Object, Object>> entries() {
+			return super.entrySet();
+		}
+
+		//An unmodifiable view whose entries can not be changed either
+		private synchronized Map<Object, Object> getView() {
+			if (view == null) {
+				view = Collections.unmodifiableMap(new AbstractMap<Object, Object>() {
+					@Override
+					public Set<Map.Entry<Object, Object>> entrySet() {
+						return entries();
+					}
+				});
+			}
+			return view;
+		}
+
+		@Override
+		public Set<Map.Entry<Object, Object>> entrySet() {
+			return getView().entrySet();
+		}
+
+		@Override
+		public Set<Object> keySet() {
+			return getView().keySet();
+		}
+
+		@Override
+		public Collection<Object> values() {
+			return getView().values();
+		}
+
+		@Override
+		public synchronized Object setProperty(String key, String value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void load(Reader reader) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void load(InputStream inStream) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void loadFromXML(InputStream in) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object put(Object key, Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void putAll(Map<?, ?> t) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object putIfAbsent(Object key, Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object remove(Object key) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized boolean remove(Object key, Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object replace(Object key, Object value) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public synchronized void clear() {
+			throw new UnsupportedOperationException();
+		}
+
+		//A copy can be modified
+		@Override
+		public synchronized Object clone() {
+			Properties copy = new Properties();
+			copy.putAll(this);
+			return copy;
+		}
+	}
+
+	private static class CachedProperties {
+		final long length;
+		final long lastModified;
+		final Properties properties;
+
+		CachedProperties(long length, long lastModified, Properties properties) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.properties = properties;
+		}
+	}
+
+	/**
+	 * Same as {@link #readProperties(String, String, int)} but the returned properties can not be modified.
+	 * When the propertiesCache property is set, the file is only read again if its length or its last
+	 * modification time changed since it has last been read during the current build.
+	 */
+	public static Properties readCachedProperties(String location, String fileName, int errorLevel) throws CoreException {
+		if (location == null || !getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_PROPERTIES_CACHE))
+			return readProperties(location, fileName, errorLevel);
+
+		File file = new File(location, fileName);
+		String key = file.getAbsolutePath();
+		long length = file.length();
+		long lastModified = file.lastModified();
+		CachedProperties cached = propertiesCache.get(key);
+		if (cached != null && cached.length == length && cached.lastModified == lastModified)
+			return cached.properties;
+
+		Properties result = readProperties(location, fileName, errorLevel);
+		if (result instanceof MissingProperties)
+			return result;
+		result = new ReadOnlyProperties(result);
+		propertiesCache.put(key, new CachedProperties(length, lastModified, result));
+		return result;
+	}
+
+	/**
+	 * Forget the cached content of the given properties file. To be called when the file is written.
+	 */
+	public static void invalidateProperties(File file) {
+		propertiesCache.remove(file.getAbsolutePath());
+	}
+
 	public static Properties readProperties(String location, String fileName, int errorLevel) throws CoreException {
 		if (location == null) {
 			if (errorLevel != IStatus.INFO && errorLevel != IStatus.OK) {
@@ -253,6 +458,92 @@ public abstract class AbstractScriptGenerator implements IXMLConstants, IPDEBuil
 		script.close();
 	}
 
+	/**
+	 * Open a script that is generated in memory. Once the script is closed, {@link #saveIncrementalScript()}
+	 * only writes it to disk if its content differs from the one recorded in the fingerprint of the previous generation.
+	 */
+	public void openIncrementalScript(String scriptLocation, String scriptName) throws CoreException {
+		if (script != null)
+			return;
+		incrementalScript = new File(scriptLocation, scriptName);
+		scriptBuffer = new ByteArrayOutputStream(16384);
+		try {
+			script = new AntScript(scriptBuffer);
+		} catch (IOException e) {
+			String message = NLS.bind(Messages.exception_writingFile, incrementalScript.getAbsolutePath());
+			throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_FILE, message, e));
+		}
+	}
+
+	/**
+	 * Write the script opened with {@link #openIncrementalScript(String, String)} unless the existing script
+	 * has been generated with the same content by the same version of PDE Build and has not been modified since.
+	 * The fingerprints are kept in the working directory so that the source folders of the bundles are left untouched.
+	 */
+	public void saveIncrementalScript() throws CoreException {
+		try {
+			byte[] content = scriptBuffer.toByteArray();
+			String fingerprint = computeScriptFingerprint(content);
+			File fingerprintFile = fingerprint != null && workingDirectory != null ? getFingerprintFile(incrementalScript) : null;
+			if (fingerprintFile != null && incrementalScript.isFile() && fingerprintFile.isFile()) {
+				try {
+					String previous = Utils.readFile(fingerprintFile).toString().trim();
+					if (previous.equals(fingerprint + ',' + incrementalScript.length() + ',' + incrementalScript.lastModified()))
+						return;
+				} catch (IOException e) {
+					//Ignore, the script is written again
+				}
+			}
+
+			if (fingerprintFile != null)
+				fingerprintFile.delete();
+			try {
+				try (OutputStream output = new BufferedOutputStream(new FileOutputStream(incrementalScript))) {
+					output.write(content);
+				}
+				if (fingerprintFile != null) {
+					fingerprintFile.getParentFile().mkdirs();
+					try (Writer writer = new OutputStreamWriter(new FileOutputStream(fingerprintFile), StandardCharsets.UTF_8)) {
+						writer.write(fingerprint + ',' + incrementalScript.length() + ',' + incrementalScript.lastModified());
+					}
+				}
+			} catch (IOException e) {
+				String message = NLS.bind(Messages.exception_writingFile, incrementalScript.getAbsolutePath());
+				throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_FILE, message, e));
+			}
+		} finally {
+			scriptBuffer = null;
+			incrementalScript = null;
+		}
+	}
+
+	/*
+	 * The fingerprint of a script is named after the digest of the script path, the scripts of all the
+	 * bundles share the same name.
+	 */
+	private static File getFingerprintFile(File scriptFile) {
+		String name = computeScriptFingerprint(scriptFile.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+		return new File(new File(workingDirectory, DEFAULT_SCRIPT_FINGERPRINTS_LOCATION), name + ".fingerprint"); //$NON-NLS-1$
+	}
+
+	private static String computeScriptFingerprint(byte[] content) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		if (BundleHelper.getDefault() != null)
+			digest.update(BundleHelper.getDefault().getBundle().getVersion().toString().getBytes(StandardCharsets.UTF_8));
+		digest.update(content);
+		StringBuffer result = new StringBuffer();
+		for (byte b : digest.digest()) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16));
+			result.append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
 	public static String getWorkingDirectory() {
 		return workingDirectory;
 	}
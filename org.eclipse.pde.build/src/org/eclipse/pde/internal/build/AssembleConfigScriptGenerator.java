@@ -159,7 +159,7 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 	protected void generateP2Assembling() {
 		if (productFile != null) {
 			script.printAntCallTask(TARGET_RUN_DIRECTOR, true, null);
-			script.printAntCallTask(TARGET_MIRROR_PRODUCT, true, null);
+			printSharedRepositoryCall(TARGET_MIRROR_PRODUCT);
 		} else {
 			script.printAntCallTask(TARGET_MIRROR_ARCHIVE, true, null);
 		}
@@ -344,10 +344,28 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 			return;
 		if (rootFileProviders.size() == 0 && features.length == 0 && plugins.length == 0)
 			return;
-		script.printAntCallTask(TARGET_P2_METADATA, true, null);
+		printSharedRepositoryCall(TARGET_P2_METADATA);
 		script.println();
 	}
 
+	/*
+	 * Call a target publishing to the repositories shared by all the configurations. The calls are
+	 * serialized when the configurations are assembled in parallel.
+	 */
+	private void printSharedRepositoryCall(String target) {
+		if (!getPropertyAsBoolean(PROPERTY_PARALLEL_ASSEMBLY)) {
+			script.printAntCallTask(target, true, null);
+			return;
+		}
+		Map<String, String> arguments = new LinkedHashMap<>();
+		arguments.put("name", "p2.repository"); //$NON-NLS-1$ //$NON-NLS-2$
+		script.printStartTag("eclipse.lock", arguments); //$NON-NLS-1$
+		script.incrementIdent();
+		script.printAntCallTask(target, true, null);
+		script.decrementIdent();
+		script.printEndTag("eclipse.lock"); //$NON-NLS-1$
+	}
+
 	protected void generateArchivingTarget(boolean assembling) {
 		boolean condition = assembling && BuildDirector.p2Gathering;
 		if (condition) {
@@ -380,6 +398,8 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 
 		if (FORMAT_FOLDER.equalsIgnoreCase(archiveFormat)) {
 			generateMoveRootFiles();
+		} else if (getPropertyAsBoolean(PROPERTY_STREAMING_ARCHIVES)) {
+			generateStreamingArchiveTarget();
 		} else if (FORMAT_ZIP.equalsIgnoreCase(archiveFormat)) {
 			generateZipTarget();
 		} else if (FORMAT_ANTZIP.equalsIgnoreCase(archiveFormat)) {
@@ -524,7 +544,7 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 		script.printProperty(PROPERTY_WS, configInfo.getWs());
 		script.printProperty(PROPERTY_ARCH, configInfo.getArch());
 		script.printProperty(PROPERTY_SIGN, (signJars ? Boolean.TRUE : Boolean.FALSE).toString());
-		script.printProperty(PROPERTY_ASSEMBLY_TMP, Utils.getPropertyFormat(PROPERTY_BUILD_DIRECTORY) + "/tmp"); //$NON-NLS-1$
+		script.printProperty(PROPERTY_ASSEMBLY_TMP, getAssemblyTempDirectory());
 		script.printProperty(PROPERTY_ECLIPSE_BASE, Utils.getPropertyFormat(PROPERTY_ASSEMBLY_TMP) + '/' + Utils.getPropertyFormat(PROPERTY_COLLECTING_FOLDER));
 		script.printProperty(PROPERTY_ECLIPSE_PLUGINS, Utils.getPropertyFormat(PROPERTY_ECLIPSE_BASE) + '/' + DEFAULT_PLUGIN_LOCATION);
 		script.printProperty(PROPERTY_ECLIPSE_FEATURES, Utils.getPropertyFormat(PROPERTY_ECLIPSE_BASE) + '/' + DEFAULT_FEATURE_LOCATION);
@@ -545,6 +565,16 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 		generatePackagingTargets();
 	}
 
+	/*
+	 * The configurations assembled in parallel can not share the temporary folder, it is deleted at the end of each assembly
+	 */
+	private String getAssemblyTempDirectory() {
+		String tmp = Utils.getPropertyFormat(PROPERTY_BUILD_DIRECTORY) + "/tmp"; //$NON-NLS-1$
+		if (getPropertyAsBoolean(PROPERTY_PARALLEL_ASSEMBLY))
+			return tmp + '/' + configInfo.toStringReplacingAny(".", ANY_STRING); //$NON-NLS-1$
+		return tmp;
+	}
+
 	protected void printLauncherJarProperty() {
 		Bundle launcherBundle = Platform.getBundle(BUNDLE_EQUINOX_LAUNCHER);
 		Optional<File> bundleFile = FileLocator.getBundleFileLocation(launcherBundle);
@@ -926,6 +956,27 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 
 	//TODO this code and the generateAntTarTarget() should be refactored using a factory or something like that.
 	protected void generateAntZipTarget() {
+		List<FileSet> fileSets = getZipFileSets();
+		if (fileSets.size() > 0) {
+			FileSet[] sets = fileSets.toArray(new FileSet[fileSets.size()]);
+			script.printZipTask(Utils.getPropertyFormat(PROPERTY_ARCHIVE_FULLPATH), null, false, true, sets);
+		}
+	}
+
+	/*
+	 * Write the zip or tar.gz archive with the eclipse.archive task. The content is described like for
+	 * the antZip format, the task compresses the entries in parallel and writes the archive in a single pass.
+	 */
+	private void generateStreamingArchiveTarget() {
+		List<FileSet> fileSets = getZipFileSets();
+		if (fileSets.size() > 0) {
+			boolean tar = FORMAT_TAR.equalsIgnoreCase(archiveFormat) || FORMAT_ANTTAR.equalsIgnoreCase(archiveFormat);
+			FileSet[] sets = fileSets.toArray(new FileSet[fileSets.size()]);
+			script.printArchiveTask(Utils.getPropertyFormat(PROPERTY_ARCHIVE_FULLPATH), tar ? "tar.gz" : FORMAT_ZIP, true, sets); //$NON-NLS-1$
+		}
+	}
+
+	private List<FileSet> getZipFileSets() {
 		List<FileSet> fileSets = new ArrayList<>();
 
 		if (BuildDirector.p2Gathering) {
@@ -959,10 +1010,7 @@ public class AssembleConfigScriptGenerator extends AbstractScriptGenerator {
 				}
 			}
 		}
-		if (fileSets.size() > 0) {
-			FileSet[] sets = fileSets.toArray(new FileSet[fileSets.size()]);
-			script.printZipTask(Utils.getPropertyFormat(PROPERTY_ARCHIVE_FULLPATH), null, false, true, sets);
-		}
+		return fileSets;
 	}
 
 	protected Collection<BuildTimeFeature> getArchiveRootFileProviders() {
@@ -129,17 +129,38 @@ public class AssembleScriptGenerator extends AbstractScriptGenerator {
 			}
 			basicGenerateAssembleConfigFileTargetCall(new Config("group", "group", "group"), allPlugins, allFeatures, features, rootFiles); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		} else {
+			//Each configuration is assembled in its own temporary folder and archive, they can run in parallel
+			boolean parallel = getPropertyAsBoolean(PROPERTY_PARALLEL_ASSEMBLY) && getConfigInfos().size() > 1;
+			if (parallel) {
+				//Without a thread count, ant would run all the configurations at once
+				int threadCount = getAssemblyThreadCount();
+				script.printParallel(threadCount, threadCount > 0 ? 0 : 1);
+			}
 			for (Config current : getConfigInfos()) {
 				@SuppressWarnings("rawtypes")
 				Collection[] configInfo = getConfigInfos(current);
 				basicGenerateAssembleConfigFileTargetCall(current, configInfo[0], configInfo[1], configInfo[2], configInfo[3]);
 			}
+			if (parallel)
+				script.printEndParallel();
 		}
 		if (configScriptGenerator.haveP2Bundles() && !BuildDirector.p2Gathering)
 			script.printAntCallTask(TARGET_P2_METADATA, true, null);
 		script.printTargetEnd();
 	}
 
+	private int getAssemblyThreadCount() {
+		String value = getImmutableAntProperty(PROPERTY_ASSEMBLY_THREAD_COUNT);
+		if (value != null) {
+			try {
+				return Math.max(0, Integer.parseInt(value.trim()));
+			} catch (NumberFormatException e) {
+				//ignore and use one thread per processor
+			}
+		}
+		return 0;
+	}
+
 	protected boolean shouldGroupConfigs() {
 		if (!BuildDirector.p2Gathering)
 			return groupConfigs;
@@ -15,6 +15,7 @@ package org.eclipse.pde.internal.build;
 
 import java.util.*;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.internal.build.ant.BundleCompilation;
 import org.eclipse.pde.internal.build.site.BuildTimeFeature;
 import org.osgi.framework.Version;
 
@@ -25,6 +26,8 @@ public class AssemblyInformation implements IPDEBuildConstants {
 	private final Map<Config, AssemblyLevelConfigInfo> assembleInformation = new HashMap<>(8);
 	private final Map<String, BundleDescription> bundleMap = new HashMap<>();
 	private final Map<String, BuildTimeFeature> rootMap = new HashMap<>();
+	//The compilation of the bundles compiled by the compile script without running their build.xml, set by the concurrent generators
+	private final Map<Long, BundleCompilation> compilations = Collections.synchronizedMap(new HashMap<>());
 
 	public AssemblyInformation() {
 		// Initialize the content of the assembly information with the configurations 
@@ -54,6 +57,17 @@ public class AssemblyInformation implements IPDEBuildConstants {
 		bundleMap.put(id + '_' + plugin.getVersion().toString(), plugin);
 	}
 
+	public void setCompilation(BundleDescription plugin, BundleCompilation compilation) {
+		if (compilation == null)
+			compilations.remove(Long.valueOf(plugin.getBundleId()));
+		else
+			compilations.put(Long.valueOf(plugin.getBundleId()), compilation);
+	}
+
+	public BundleCompilation getCompilation(BundleDescription plugin) {
+		return compilations.get(Long.valueOf(plugin.getBundleId()));
+	}
+
 	public BundleDescription getPlugin(String id, String version) {
 		if (version != null && !GENERIC_VERSION_NUMBER.equals(version))
 			return bundleMap.get(id + '_' + version);
@@ -42,7 +42,7 @@ public class BuildApplication implements IApplication {
 		return null;
 	}
 
-	private String[] updateArgs(String[] args) throws IOException {
+	static String[] updateArgs(String[] args) throws IOException {
 		for (String string : args) {
 			if (string.equals("-f") || string.equals("-buildfile")) //$NON-NLS-1$ //$NON-NLS-2$
 				return args;
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A command line client sending a build to a running {@link BuildServer}. This class has no dependency
+ * so that it can be run with a plain java launcher, for example:
+ * <pre>
+ * java -cp pdebuild.jar org.eclipse.pde.internal.build.BuildClient -portFile server.port -Dbuilder=/my/builder
+ * </pre>
+ * The server is found with the <code>-port</code> or the <code>-portFile</code> argument. The token the server
+ * expects is read from the file given with <code>-tokenFile</code>, the port file followed by
+ * {@link BuildServer#TOKEN_FILE_SUFFIX} by default. The other arguments are the arguments of the build. The
+ * argument <code>-shutdown</code> stops the server. The log of the build is printed and the exit code of the
+ * build is returned.
+ */
+public class BuildClient {
+	public static void main(String[] args) throws IOException {
+		System.exit(run(args, System.out));
+	}
+
+	public static int run(String[] args, PrintStream out) throws IOException {
+		int port = -1;
+		String tokenFile = null;
+		List<String> buildArgs = new ArrayList<>(args.length);
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-port") && i + 1 < args.length) { //$NON-NLS-1$
+				port = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-portFile") && i + 1 < args.length) { //$NON-NLS-1$
+				String portFile = args[++i];
+				port = Integer.parseInt(readFile(portFile));
+				if (tokenFile == null)
+					tokenFile = portFile + BuildServer.TOKEN_FILE_SUFFIX;
+			} else if (args[i].equals("-tokenFile") && i + 1 < args.length) { //$NON-NLS-1$
+				tokenFile = args[++i];
+			} else if (args[i].length() > 0) {
+				buildArgs.add(args[i]);
+			}
+		}
+		if (port == -1) {
+			out.println("The port of the build server is specified with -port or -portFile."); //$NON-NLS-1$
+			return 1;
+		}
+		if (tokenFile == null) {
+			out.println("The token of the build server is read from the file specified with -tokenFile."); //$NON-NLS-1$
+			return 1;
+		}
+		String token = readFile(tokenFile);
+
+		try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+			Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+			writer.write(token + '\n');
+			writer.write(new File("").getAbsolutePath() + '\n'); //$NON-NLS-1$
+			for (String arg : buildArgs) {
+				writer.write(arg + '\n');
+			}
+			writer.write('\n');
+			writer.flush();
+
+			BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				if (line.startsWith(BuildServer.EXIT_PREFIX))
+					return Integer.parseInt(line.substring(BuildServer.EXIT_PREFIX.length()));
+				out.println(line);
+			}
+		}
+		//The connection has been closed before the end of the build, or the token has been rejected
+		return 1;
+	}
+
+	private static String readFile(String file) throws IOException {
+		return new String(Files.readAllBytes(new File(file).toPath()), StandardCharsets.UTF_8).trim();
+	}
+}
@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Record the wall time, the cpu time and the memory allocated by the phases of a build, and write
+ * them in a csv timeline. The cpu time and the allocation are the ones of the thread running the
+ * phase, and are reported as -1 when the virtual machine does not measure them.
+ * <p>
+ * Nothing is recorded unless the metrics are enabled. The metrics are enabled for a session, from the
+ * first call to {@link #enable()} to the matching call to {@link #disable()}, the records are dropped
+ * at the end of the session. This class has no dependency so that it can be used by the ant tasks.
+ * </p>
+ */
+public final class BuildMetrics {
+	private static final String HEADER = "phase,detail,thread,start_ms,wall_ms,cpu_ms,allocated_kb"; //$NON-NLS-1$
+
+	private static final long origin = System.nanoTime();
+	private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+	//com.sun.management.ThreadMXBean#getThreadAllocatedBytes, when available
+	private static final Method allocatedBytes = findAllocatedBytesMethod();
+
+	private static volatile boolean enabled = false;
+	//The number of enable calls not yet matched by a disable call, guarded by writtenFiles
+	private static int enableCount = 0;
+	private static final List<String> records = new ArrayList<>();
+	//The files written during this session, the next records are appended to them
+	private static final Set<String> writtenFiles = new HashSet<>();
+
+	private static final Phase NO_PHASE = new Phase(null, null);
+
+	/**
+	 * A phase being measured. Closing the phase records its measurements, it must be closed on
+	 * the thread that started it.
+	 */
+	public static final class Phase implements AutoCloseable {
+		private final String name;
+		private final String detail;
+		private final long start;
+		private final long cpuStart;
+		private final long allocatedStart;
+
+		Phase(String name, String detail) {
+			this.name = name;
+			this.detail = detail;
+			this.start = System.nanoTime();
+			this.cpuStart = name != null ? getCpuTime() : -1;
+			this.allocatedStart = name != null ? getAllocatedBytes() : -1;
+		}
+
+		@Override
+		public void close() {
+			if (name == null)
+				return;
+			long wall = System.nanoTime() - start;
+			long cpu = cpuStart != -1 ? getCpuTime() - cpuStart : -1;
+			long allocated = allocatedStart != -1 ? getAllocatedBytes() - allocatedStart : -1;
+
+			StringBuffer record = new StringBuffer();
+			appendValue(record, name);
+			record.append(',');
+			appendValue(record, detail);
+			record.append(',');
+			appendValue(record, Thread.currentThread().getName());
+			record.append(',').append((start - origin) / 1000000);
+			record.append(',').append(wall / 1000000);
+			record.append(',').append(cpu != -1 ? cpu / 1000000 : -1);
+			record.append(',').append(allocated != -1 ? allocated / 1024 : -1);
+			synchronized (records) {
+				records.add(record.toString());
+			}
+		}
+	}
+
+	private BuildMetrics() {
+		//Static methods only
+	}
+
+	/**
+	 * Enable the metrics, a session starts if they were not enabled. Each call must be matched by a
+	 * call to {@link #disable()}.
+	 */
+	public static void enable() {
+		synchronized (writtenFiles) {
+			if (enableCount++ == 0) {
+				clearRecords();
+				writtenFiles.clear();
+				enabled = true;
+			}
+		}
+	}
+
+	/**
+	 * Disable the metrics enabled by the matching call to {@link #enable()}. The session ends and the
+	 * records not written are dropped when no other caller needs the metrics.
+	 */
+	public static void disable() {
+		synchronized (writtenFiles) {
+			if (enableCount == 0 || --enableCount > 0)
+				return;
+			enabled = false;
+			clearRecords();
+			writtenFiles.clear();
+		}
+	}
+
+	private static void clearRecords() {
+		synchronized (records) {
+			records.clear();
+		}
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Start measuring a phase. When the metrics are not enabled, the phase returned does nothing.
+	 *
+	 * @param name the name of the phase
+	 * @param detail the element processed by the phase, can be <code>null</code>
+	 * @return the phase to close at the end of the measurement
+	 */
+	public static Phase start(String name, String detail) {
+		if (!enabled)
+			return NO_PHASE;
+		return new Phase(name, detail);
+	}
+
+	/**
+	 * Write the phases recorded since the last write in the given file. The file is replaced the first
+	 * time it is written during a session, the records of the same session are appended to it afterward.
+	 */
+	public static void write(File file) throws IOException {
+		List<String> toWrite;
+		synchronized (records) {
+			toWrite = new ArrayList<>(records);
+			records.clear();
+		}
+
+		boolean append;
+		synchronized (writtenFiles) {
+			append = !writtenFiles.add(file.getAbsolutePath()) && file.isFile();
+			File parent = file.getAbsoluteFile().getParentFile();
+			if (parent != null && !parent.exists())
+				parent.mkdirs();
+			try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, append), StandardCharsets.UTF_8))) {
+				if (!append)
+					writer.write(HEADER + '\n');
+				for (String record : toWrite)
+					writer.write(record + '\n');
+			}
+		}
+	}
+
+	private static void appendValue(StringBuffer buffer, String value) {
+		if (value == null)
+			return;
+		if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1) {
+			buffer.append(value);
+			return;
+		}
+		buffer.append('"').append(value.replace("\"", "\"\"")).append('"'); //$NON-NLS-1$//$NON-NLS-2$
+	}
+
+	static long getCpuTime() {
+		try {
+			if (threads.isCurrentThreadCpuTimeSupported())
+				return threads.getCurrentThreadCpuTime();
+		} catch (UnsupportedOperationException e) {
+			//Cpu time measurement is disabled
+		}
+		return -1;
+	}
+
+	static long getAllocatedBytes() {
+		if (allocatedBytes == null)
+			return -1;
+		try {
+			return ((Long) allocatedBytes.invoke(threads, Long.valueOf(Thread.currentThread().getId()))).longValue();
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	private static Method findAllocatedBytesMethod() {
+		//The extended interface is looked up by name as it is not visible from every class loader
+		for (Class<?> type = threads.getClass(); type != null; type = type.getSuperclass()) {
+			for (Class<?> implemented : type.getInterfaces()) {
+				if (!"com.sun.management.ThreadMXBean".equals(implemented.getName())) //$NON-NLS-1$
+					continue;
+				try {
+					return implemented.getMethod("getThreadAllocatedBytes", long.class); //$NON-NLS-1$
+				} catch (NoSuchMethodException e) {
+					return null;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -120,7 +120,9 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 			sortElements(features, plugins);
 			pluginsForFilterRoots = plugins;
 			featuresForFilterRoots = features;
-			getSite(true); //This forces the creation of the siteFactory which contains all the parameters necessary to initialize.
+			try (BuildMetrics.Phase phase = BuildMetrics.start("siteCreation", null)) { //$NON-NLS-1$
+				getSite(true); //This forces the creation of the siteFactory which contains all the parameters necessary to initialize.
+			}
 			//TODO To avoid this. What would be necessary is use the BuildTimeSiteFactory to store the values that are stored in the AbstractScriptGenerator and to pass the parameters to a new BuildTimeSiteFacotry when created.
 			//More over this would allow us to remove some of the setters when creating a new featurebuildscriptgenerator.
 
@@ -259,16 +261,23 @@ public class BuildScriptGenerator extends AbstractScriptGenerator {
 				if (features.size() != 1)
 					featureInfo = new String[] {"all"}; //$NON-NLS-1$
 
-				if (flatten)
-					generateCompileScript(assemblageInformation, featureInfo);
+				if (flatten) {
+					try (BuildMetrics.Phase phase = BuildMetrics.start("compileScript", featureInfo[0])) { //$NON-NLS-1$
+						generateCompileScript(assemblageInformation, featureInfo);
+					}
+				}
 
 				if (generateAssembleScript == true) {
-					generateAssembleScripts(assemblageInformation, featureInfo, generator.siteFactory);
+					try (BuildMetrics.Phase phase = BuildMetrics.start("assembleScript", featureInfo[0])) { //$NON-NLS-1$
+						generateAssembleScripts(assemblageInformation, featureInfo, generator.siteFactory);
+					}
 
 					if (features.size() != 1)
 						featureInfo = new String[] {""}; //$NON-NLS-1$
 
-					generatePackageScripts(assemblageInformation, featureInfo, generator.siteFactory);
+					try (BuildMetrics.Phase phase = BuildMetrics.start("packageScript", featureInfo[0])) { //$NON-NLS-1$
+						generatePackageScripts(assemblageInformation, featureInfo, generator.siteFactory);
+					}
 				}
 				if (generateVersionsList)
 					generateVersionsLists(assemblageInformation);
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.*;
+import org.eclipse.ant.core.AntRunner;
+import org.eclipse.core.runtime.*;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+
+/**
+ * An application running the builds requested by {@link BuildClient} with the ant runner of a resident
+ * runtime. The runtime stays up between the builds, saving the start of the platform and keeping the
+ * classes loaded and compiled. The only model kept in memory is the registry of the execution
+ * environment profiles, see {@link org.eclipse.pde.internal.build.site.ProfileManager#getProfileManager(String[], boolean)},
+ * it is loaded again when its sources change. The feature models and the state are read again by each
+ * build since a build modifies them, the builds are run with the manifest cache, the feature index and
+ * the state snapshot enabled unless the request sets these properties, so that they are read from the
+ * caches on the disk and only the bundles that changed are loaded and resolved again.
+ * <p>
+ * The server only accepts connections from the local host, and only runs the requests that start
+ * with the token it writes in a file only readable by its owner. It is started with the following
+ * arguments:
+ * <ul>
+ * <li><code>-port</code>: the port to listen to, a free port is chosen by default</li>
+ * <li><code>-portFile</code>: a file in which the port is written once the server is listening</li>
+ * <li><code>-tokenFile</code>: the file in which the token is written, the port file followed by
+ * {@link #TOKEN_FILE_SUFFIX} by default</li>
+ * </ul>
+ * </p><p>
+ * A request is made of lines encoded in UTF-8: the token, the working directory of the client and the
+ * arguments of the build, one per line, terminated by an empty line. The relative paths given to the
+ * file arguments of ant and to the properties naming files or folders, such as <code>builder</code>,
+ * <code>buildDirectory</code>, <code>baseLocation</code> or <code>pluginPath</code>, are resolved against
+ * the working directory of the client, which is also the default <code>builder</code>. The log of the build is sent
+ * back, followed by a line holding {@link #EXIT_PREFIX} and the exit code of the build. A request
+ * whose only argument is {@link #SHUTDOWN} stops the server.
+ * </p>
+ */
+public class BuildServer implements IApplication {
+	public static final String EXIT_PREFIX = "#exit "; //$NON-NLS-1$
+	public static final String SHUTDOWN = "-shutdown"; //$NON-NLS-1$
+	public static final String TOKEN_FILE_SUFFIX = ".token"; //$NON-NLS-1$
+
+	private static final String[] WARM_PROPERTIES = {IBuildPropertiesConstants.PROPERTY_MANIFEST_CACHE, IBuildPropertiesConstants.PROPERTY_FEATURE_INDEX, IBuildPropertiesConstants.PROPERTY_STATE_SNAPSHOT};
+	//The arguments of ant naming a file
+	private static final Set<String> FILE_ARGUMENTS = new HashSet<>(Arrays.asList("-f", "-file", "-buildfile", "-l", "-logfile", "-propertyfile")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+	private static final String PROPERTY_BUILDER = "builder"; //$NON-NLS-1$
+	private static final String PROPERTY_PLUGIN_PATH = "pluginPath"; //$NON-NLS-1$
+	//The properties naming files or folders
+	private static final Set<String> PATH_PROPERTIES = new HashSet<>(Arrays.asList(PROPERTY_BUILDER, IXMLConstants.PROPERTY_BUILD_DIRECTORY, IXMLConstants.PROPERTY_BASE_LOCATION, "base", IXMLConstants.PROPERTY_BUILD_TEMP, "repoBaseLocation", IBuildPropertiesConstants.PROPERTY_TRANSFORMED_REPO, IBuildPropertiesConstants.PROPERTY_FETCH_CACHE, IBuildPropertiesConstants.PROPERTY_COMPILE_CACHE_DIRECTORY, IBuildPropertiesConstants.PROPERTY_BUILD_METRICS, PROPERTY_PLUGIN_PATH)); //$NON-NLS-1$ //$NON-NLS-2$
+
+	private ServerSocket serverSocket;
+	private volatile boolean running = true;
+	private byte[] token;
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		context.applicationRunning();
+
+		String[] args = (String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS);
+		int port = 0;
+		String portFile = null;
+		String tokenFile = null;
+		for (int i = 0; i < args.length - 1; i++) {
+			if (args[i].equals("-port")) //$NON-NLS-1$
+				port = Integer.parseInt(args[++i]);
+			else if (args[i].equals("-portFile")) //$NON-NLS-1$
+				portFile = args[++i];
+			else if (args[i].equals("-tokenFile")) //$NON-NLS-1$
+				tokenFile = args[++i];
+		}
+		if (tokenFile == null && portFile != null)
+			tokenFile = portFile + TOKEN_FILE_SUFFIX;
+		if (tokenFile == null) {
+			BundleHelper.getDefault().getLog().log(new Status(IStatus.ERROR, IPDEBuildConstants.PI_PDEBUILD, "The build server needs a token file, set with -tokenFile or -portFile.")); //$NON-NLS-1$
+			return Integer.valueOf(1);
+		}
+		token = writeToken(new File(tokenFile));
+
+		synchronized (this) {
+			serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		}
+		BundleHelper.getDefault().getLog().log(new Status(IStatus.INFO, IPDEBuildConstants.PI_PDEBUILD, "Build server listening on port " + serverSocket.getLocalPort())); //$NON-NLS-1$
+		if (portFile != null) {
+			try (Writer writer = new OutputStreamWriter(new FileOutputStream(portFile), StandardCharsets.UTF_8)) {
+				writer.write(Integer.toString(serverSocket.getLocalPort()));
+			}
+		}
+
+		//The generator keeps its settings in static fields, the builds are run one at a time
+		try {
+			while (running) {
+				try (Socket socket = serverSocket.accept()) {
+					handle(socket);
+				} catch (SocketException e) {
+					//The server socket is closed when the application is stopped
+					if (running)
+						throw e;
+				} catch (IOException e) {
+					BundleHelper.getDefault().getLog().log(new Status(IStatus.WARNING, IPDEBuildConstants.PI_PDEBUILD, e.getMessage(), e));
+				}
+			}
+		} finally {
+			new File(tokenFile).delete();
+		}
+		return EXIT_OK;
+	}
+
+	/*
+	 * Write a new random token in the given file, created readable and writable by its owner only.
+	 */
+	private static byte[] writeToken(File file) throws IOException {
+		byte[] random = new byte[32];
+		new SecureRandom().nextBytes(random);
+		StringBuffer value = new StringBuffer(random.length * 2);
+		for (byte b : random) {
+			value.append(Character.forDigit((b >> 4) & 0xF, 16));
+			value.append(Character.forDigit(b & 0xF, 16));
+		}
+		byte[] result = value.toString().getBytes(StandardCharsets.UTF_8);
+
+		Path path = file.toPath();
+		Files.deleteIfExists(path);
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null && !parent.exists())
+			parent.mkdirs();
+		try {
+			Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-------"); //$NON-NLS-1$
+			Files.createFile(path, PosixFilePermissions.asFileAttribute(permissions));
+		} catch (UnsupportedOperationException e) {
+			//Not a posix file system, remove the access of the others once the file is created
+			Files.createFile(path);
+			if (!(file.setReadable(false, false) && file.setReadable(true, true) && file.setWritable(false, false) && file.setWritable(true, true)))
+				throw new IOException("Could not restrict the access to " + file); //$NON-NLS-1$
+		}
+		Files.write(path, result);
+		return result;
+	}
+
+	private void handle(Socket socket) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+		Writer writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+		String requestToken = reader.readLine();
+		if (requestToken == null || !MessageDigest.isEqual(token, requestToken.getBytes(StandardCharsets.UTF_8))) {
+			BundleHelper.getDefault().getLog().log(new Status(IStatus.WARNING, IPDEBuildConstants.PI_PDEBUILD, "Build request rejected, the token does not match.")); //$NON-NLS-1$
+			return;
+		}
+		String workingDirectory = reader.readLine();
+		if (workingDirectory == null)
+			return;
+		List<String> args = new ArrayList<>();
+		for (String line = reader.readLine(); line != null && line.length() > 0; line = reader.readLine()) {
+			args.add(line);
+		}
+
+		if (args.size() == 1 && args.get(0).equals(SHUTDOWN)) {
+			writer.write(EXIT_PREFIX + EXIT_OK + '\n');
+			writer.flush();
+			stop();
+			return;
+		}
+
+		File logFile = null;
+		if (!args.contains("-l") && !args.contains("-logfile")) { //$NON-NLS-1$ //$NON-NLS-2$
+			logFile = File.createTempFile("pdeBuild", ".log"); //$NON-NLS-1$ //$NON-NLS-2$
+			args.add("-logfile"); //$NON-NLS-1$
+			args.add(logFile.getAbsolutePath());
+		}
+
+		int exitCode;
+		try {
+			exitCode = run(prepareArgs(args, new File(workingDirectory)));
+		} catch (Exception e) {
+			writer.write(e.toString() + '\n');
+			exitCode = 1;
+		}
+
+		if (logFile != null) {
+			try (BufferedReader log = new BufferedReader(new InputStreamReader(new FileInputStream(logFile), StandardCharsets.UTF_8))) {
+				for (String line = log.readLine(); line != null; line = log.readLine()) {
+					writer.write(line + '\n');
+				}
+			}
+			logFile.delete();
+		}
+		writer.write(EXIT_PREFIX + exitCode + '\n');
+		writer.flush();
+	}
+
+	private String[] prepareArgs(List<String> args, File workingDirectory) throws IOException {
+		List<String> result = new ArrayList<>(args.size() + WARM_PROPERTIES.length + 1);
+		for (int i = 0; i < args.size(); i++) {
+			String arg = args.get(i);
+			result.add(arg);
+			if (FILE_ARGUMENTS.contains(arg) && i + 1 < args.size()) {
+				result.add(resolve(args.get(++i), workingDirectory));
+			} else if (arg.startsWith("-D") && arg.indexOf('=') > 2) { //$NON-NLS-1$
+				int index = arg.indexOf('=');
+				String name = arg.substring(2, index);
+				String value = arg.substring(index + 1);
+				if (PATH_PROPERTIES.contains(name) && value.length() > 0 && !value.startsWith("${")) { //$NON-NLS-1$
+					if (name.equals(PROPERTY_PLUGIN_PATH)) {
+						String[] elements = value.split(File.pathSeparator);
+						StringBuffer path = new StringBuffer();
+						for (int j = 0; j < elements.length; j++) {
+							if (j > 0)
+								path.append(File.pathSeparatorChar);
+							if (elements[j].length() > 0)
+								path.append(resolve(elements[j], workingDirectory));
+						}
+						value = path.toString();
+					} else {
+						value = resolve(value, workingDirectory);
+					}
+					result.set(result.size() - 1, "-D" + name + '=' + value); //$NON-NLS-1$
+				}
+			}
+		}
+		//The build script defaults the builder to the current directory, the one of the server
+		if (!isDefined(args, PROPERTY_BUILDER))
+			result.add("-D" + PROPERTY_BUILDER + '=' + workingDirectory.getAbsolutePath()); //$NON-NLS-1$
+		for (String property : WARM_PROPERTIES) {
+			if (!isDefined(args, property))
+				result.add("-D" + property + "=true"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return BuildApplication.updateArgs(result.toArray(new String[result.size()]));
+	}
+
+	private static String resolve(String path, File workingDirectory) {
+		File file = new File(path);
+		return file.isAbsolute() ? file.getPath() : new File(workingDirectory, path).getAbsolutePath();
+	}
+
+	private static boolean isDefined(List<String> args, String property) {
+		String prefix = "-D" + property + '='; //$NON-NLS-1$
+		for (String arg : args) {
+			if (arg.startsWith(prefix))
+				return true;
+		}
+		return false;
+	}
+
+	private int run(String[] args) throws Exception {
+		IExtension extension = Platform.getExtensionRegistry().getExtension("org.eclipse.ant.core.antRunner"); //$NON-NLS-1$
+		if (extension == null)
+			return 1;
+		IConfigurationElement element = extension.getConfigurationElements()[0];
+		Object ee = element.createExecutableExtension("run"); //$NON-NLS-1$
+		if (!(ee instanceof AntRunner))
+			return 1;
+		Object result = ((AntRunner) ee).run(args);
+		return result instanceof Integer ? ((Integer) result).intValue() : 0;
+	}
+
+	@Override
+	public synchronized void stop() {
+		running = false;
+		if (serverSocket != null) {
+			try {
+				serverSocket.close();
+			} catch (IOException e) {
+				//ignore
+			}
+		}
+	}
+}
@@ -29,6 +29,9 @@ public class BundleHelper {
 	private static BundleHelper defaultInstance;
 	private boolean debug = false;
 	private ILog log = null;
+	//The filters already computed for the bundles, NO_FILTER for the platform independent ones
+	private final Map<BundleDescription, Object> filters = Collections.synchronizedMap(new WeakHashMap<>());
+	private static final Object NO_FILTER = new Object();
 
 	public static BundleHelper getDefault() {
 		return defaultInstance;
@@ -134,6 +137,16 @@ public class BundleHelper {
 		if (bundleDescription == null)
 			return null;
 
+		Object cached = filters.get(bundleDescription);
+		if (cached == null) {
+			Filter filter = computeFilter(bundleDescription);
+			cached = filter != null ? filter : NO_FILTER;
+			filters.put(bundleDescription, cached);
+		}
+		return cached != NO_FILTER ? (Filter) cached : null;
+	}
+
+	private Filter computeFilter(BundleDescription bundleDescription) {
 		String platformFilter = bundleDescription.getPlatformFilter();
 		String nativeFilter = null;
 
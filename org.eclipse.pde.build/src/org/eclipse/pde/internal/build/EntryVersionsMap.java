@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * The versions to use when replacing the generic versions of the plug-ins and features referenced by
+ * the features of a build. The keys are of the form id:major.minor.micro and the values are the actual
+ * versions, as in the values given to the id replacer task.
+ * <p>
+ * The map is written by the script generation in a binary file, and read once per file by the
+ * id replacer tasks. Each generation of the scripts adds its entries to the ones already written in
+ * the file, so that the scripts generated before keep finding theirs. This class has no dependency
+ * so that it can be used by the ant tasks.
+ * </p>
+ */
+public class EntryVersionsMap {
+	private static final int MAGIC = 0x50444556; //PDEV
+	private static final int FORMAT_VERSION = 1;
+
+	private static class CachedMap {
+		final long length;
+		final long lastModified;
+		final EntryVersionsMap map;
+
+		CachedMap(long length, long lastModified, EntryVersionsMap map) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.map = map;
+		}
+	}
+
+	//The maps already read, keyed by the canonical path of their file
+	private static final Map<String, CachedMap> cache = new HashMap<>();
+
+	private final Map<String, String> pluginVersions;
+	private final Map<String, String> featureVersions;
+	private boolean modified = false;
+
+	public EntryVersionsMap() {
+		this(new HashMap<>(), new HashMap<>());
+	}
+
+	private EntryVersionsMap(Map<String, String> pluginVersions, Map<String, String> featureVersions) {
+		this.pluginVersions = pluginVersions;
+		this.featureVersions = featureVersions;
+	}
+
+	public synchronized void addPluginVersions(Map<String, String> versions) {
+		modified |= add(pluginVersions, versions);
+	}
+
+	public synchronized void addFeatureVersions(Map<String, String> versions) {
+		modified |= add(featureVersions, versions);
+	}
+
+	private static boolean add(Map<String, String> target, Map<String, String> versions) {
+		boolean changed = false;
+		for (Map.Entry<String, String> entry : versions.entrySet()) {
+			if (!entry.getValue().equals(target.put(entry.getKey(), entry.getValue())))
+				changed = true;
+		}
+		return changed;
+	}
+
+	public Map<String, String> getPluginVersions() {
+		return Collections.unmodifiableMap(pluginVersions);
+	}
+
+	public Map<String, String> getFeatureVersions() {
+		return Collections.unmodifiableMap(featureVersions);
+	}
+
+	/**
+	 * Write the map in the given file if it changed since it was last saved. The entries already
+	 * written in the file are kept, the versions of this map replace the ones of the same entries.
+	 */
+	public synchronized void save(File file) throws IOException {
+		if (!modified && file.isFile())
+			return;
+
+		String key = file.getCanonicalPath();
+		synchronized (cache) {
+			if (file.isFile()) {
+				EntryVersionsMap existing;
+				try {
+					existing = read(file);
+				} catch (IOException e) {
+					//A file in another format is replaced
+					existing = null;
+				}
+				if (existing != null && existing != this) {
+					merge(pluginVersions, existing.pluginVersions);
+					merge(featureVersions, existing.featureVersions);
+				}
+			}
+
+			File parent = file.getParentFile();
+			if (parent != null && !parent.exists())
+				parent.mkdirs();
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				writeMap(output, pluginVersions);
+				writeMap(output, featureVersions);
+			}
+			//The file may keep its length and time stamp, it must be read again
+			cache.remove(key);
+		}
+		modified = false;
+	}
+
+	private static void merge(Map<String, String> target, Map<String, String> existing) {
+		for (Map.Entry<String, String> entry : existing.entrySet()) {
+			target.putIfAbsent(entry.getKey(), entry.getValue());
+		}
+	}
+
+	/**
+	 * Return the map stored in the given file. The content of a file is only read again if its length
+	 * or its last modification time changed.
+	 */
+	public static EntryVersionsMap read(File file) throws IOException {
+		String key = file.getCanonicalPath();
+		synchronized (cache) {
+			CachedMap cached = cache.get(key);
+			if (cached != null && cached.length == file.length() && cached.lastModified == file.lastModified())
+				return cached.map;
+
+			long length = file.length();
+			long lastModified = file.lastModified();
+			EntryVersionsMap map;
+			try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+					throw new IOException("Unsupported format: " + file); //$NON-NLS-1$
+				Map<String, String> plugins = readMap(input);
+				map = new EntryVersionsMap(plugins, readMap(input));
+			}
+			cache.put(key, new CachedMap(length, lastModified, map));
+			return map;
+		}
+	}
+
+	private static void writeMap(DataOutputStream output, Map<String, String> map) throws IOException {
+		output.writeInt(map.size());
+		for (Map.Entry<String, String> entry : map.entrySet()) {
+			writeString(output, entry.getKey());
+			writeString(output, entry.getValue());
+		}
+	}
+
+	private static Map<String, String> readMap(DataInputStream input) throws IOException {
+		int count = input.readInt();
+		Map<String, String> map = new HashMap<>(count * 4 / 3 + 1);
+		for (int i = 0; i < count; i++) {
+			String key = readString(input);
+			map.put(key, readString(input));
+		}
+		return map;
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -494,6 +494,7 @@ public class FeatureGenerator extends AbstractScriptGenerator {
 			buildProperties = new Properties();
 			buildProperties.put("pde", "marker"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
+		invalidateProperties(file);
 		try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
 			buildProperties.store(stream, ""); //$NON-NLS-1$
 			stream.flush();
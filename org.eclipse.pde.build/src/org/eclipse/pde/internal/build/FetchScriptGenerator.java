@@ -14,8 +14,10 @@
 package org.eclipse.pde.internal.build;
 
 import java.io.*;
+import java.nio.file.Files;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
 import org.eclipse.ant.core.AntRunner;
 import org.eclipse.core.runtime.*;
 import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
@@ -25,6 +27,7 @@ import org.eclipse.pde.build.IFetchFactory;
 import org.eclipse.pde.internal.build.ant.AntScript;
 import org.eclipse.pde.internal.build.ant.IScriptRunner;
 import org.eclipse.pde.internal.build.fetch.CVSFetchTaskFactory;
+import org.eclipse.pde.internal.build.fetch.P2IUFetchFactory;
 import org.eclipse.pde.internal.build.site.*;
 import org.osgi.framework.Version;
 
@@ -86,6 +89,16 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 	private String scriptName;
 	private IScriptRunner scriptRunner;
 
+	//The retrievals generated for the children of a feature, grouped by repository type, when fetching in parallel
+	private Map<String, List<Runnable>> pendingRetrievals = null;
+	//Whether this generator runs concurrently with other generators, its included features are then generated on the calling thread
+	private boolean nestedGeneration = false;
+	private boolean parallelFetch = false;
+	private boolean batchRetrieval = false;
+	//Set when the map file entry and the feature have been retrieved by the generator of the parent feature
+	private boolean elementProcessed = false;
+	private boolean featureRetrieved = false;
+
 	public FetchScriptGenerator() {
 		super();
 	}
@@ -117,26 +130,35 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 	 */
 	@Override
 	public void generate() throws CoreException {
-		initializeFactories();
-		mapInfos = processMapFileEntry(element, elementVersion);
-		if (mapInfos == null) {
-			IStatus warning = new Status(IStatus.WARNING, PI_PDEBUILD, WARNING_ELEMENT_NOT_FETCHED, NLS.bind(Messages.error_fetchingFailed, element), null);
-			BundleHelper.getDefault().getLog().log(warning);
-			return;
-		}
+		try (BuildMetrics.Phase phase = BuildMetrics.start("fetchScript", element)) { //$NON-NLS-1$
+			processElement();
+			if (mapInfos == null) {
+				IStatus warning = new Status(IStatus.WARNING, PI_PDEBUILD, WARNING_ELEMENT_NOT_FETCHED, NLS.bind(Messages.error_fetchingFailed, element), null);
+				BundleHelper.getDefault().getLog().log(warning);
+				return;
+			}
 
-		scriptName = FETCH_FILE_PREFIX + mapInfos.get(IFetchFactory.KEY_ELEMENT_NAME) + ".xml"; //$NON-NLS-1$
-		openScript(workingDirectory, scriptName);
-		try {
-			generateFetchScript();
-		} finally {
-			closeScript();
-		}
+			scriptName = FETCH_FILE_PREFIX + mapInfos.get(IFetchFactory.KEY_ELEMENT_NAME) + ".xml"; //$NON-NLS-1$
+			openScript(workingDirectory, scriptName);
+			try {
+				generateFetchScript();
+			} finally {
+				closeScript();
+			}
 
-		if (recursiveGeneration && mapInfos.get(IFetchFactory.KEY_ELEMENT_TYPE).equals(IFetchFactory.ELEMENT_TYPE_FEATURE))
-			generateFetchFilesForIncludedFeatures();
+			if (recursiveGeneration && mapInfos.get(IFetchFactory.KEY_ELEMENT_TYPE).equals(IFetchFactory.ELEMENT_TYPE_FEATURE))
+				generateFetchFilesForIncludedFeatures();
 
-		saveRepositoryTags();
+			saveRepositoryTags();
+		}
+	}
+
+	private void processElement() throws CoreException {
+		if (elementProcessed)
+			return;
+		initializeFactories();
+		mapInfos = processMapFileEntry(element, elementVersion);
+		elementProcessed = true;
 	}
 
 	private void saveRepositoryTags(Properties properties, String fileName) throws CoreException {
@@ -166,6 +188,9 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 	 * Method generateFetchFilesForRequiredFeatures.
 	 */
 	private void generateFetchFilesForIncludedFeatures() throws CoreException {
+		//The features are retrieved through the calling Ant project, which supports concurrent calls unlike the AntRunner
+		boolean parallel = parallelFetch && !nestedGeneration && scriptRunner != null;
+		List<FetchScriptGenerator> generators = new ArrayList<>();
 		FeatureEntry[] referencedFeatures = feature.getIncludedFeatureReferences();
 		for (FeatureEntry referencedFeature : referencedFeatures) {
 			String featureId = referencedFeature.getId();
@@ -186,8 +211,144 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 			generator.repositoryPluginTags = repositoryPluginTags;
 			generator.setSourceReferences(sourceReferences);
 			generator.setScriptRunner(scriptRunner);
-			generator.generate();
+			generator.setParallelFetch(parallelFetch);
+			generator.setBatchRetrieval(batchRetrieval);
+			//All the descendants of the features retrieved concurrently need their own retrieval scripts and folders
+			generator.nestedGeneration = parallel || nestedGeneration;
+			generators.add(generator);
+		}
+
+		if (batchRetrieval)
+			retrieveFeatures(generators);
+
+		if (parallel) {
+			List<Callable<Object>> tasks = new ArrayList<>(generators.size());
+			for (FetchScriptGenerator generator : generators) {
+				tasks.add(() -> {
+					generator.generate();
+					return null;
+				});
+			}
+			Utils.invokeAll(tasks);
+		} else {
+			for (FetchScriptGenerator generator : generators) {
+				generator.generate();
+			}
+		}
+	}
+
+	/*
+	 * Retrieve the feature.xml and build.properties of the given features with a single script run.
+	 * The features that can't be retrieved this way are retrieved by their own generator.
+	 */
+	private void retrieveFeatures(List<FetchScriptGenerator> generators) {
+		List<FetchScriptGenerator> toRetrieve = new ArrayList<>(generators.size());
+		Set<Object> names = new HashSet<>();
+		for (FetchScriptGenerator generator : generators) {
+			try {
+				generator.processElement();
+			} catch (CoreException e) {
+				//Reported when the generator runs
+				continue;
+			}
+			Map<String, Object> infos = generator.mapInfos;
+			//The features are retrieved in a folder named after them
+			if (infos != null && IFetchFactory.ELEMENT_TYPE_FEATURE.equals(infos.get(IFetchFactory.KEY_ELEMENT_TYPE)) && !IPDEBuildConstants.CONTAINER_FEATURE.equals(infos.get(IFetchFactory.KEY_ELEMENT_NAME)) && names.add(infos.get(IFetchFactory.KEY_ELEMENT_NAME)))
+				toRetrieve.add(generator);
+		}
+		if (toRetrieve.size() < 2)
+			return;
+
+		String parentName = (String) mapInfos.get(IFetchFactory.KEY_ELEMENT_NAME);
+		File root = new File(workingDirectory);
+		//The same feature can be reached concurrently through several parents, the locations are unique to this retrieval
+		File target;
+		IPath p2Location;
+		try {
+			target = File.createTempFile("retrieve." + parentName + ".included.", ".xml", root); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			p2Location = createTempFolder(root, "tempFeatures." + parentName); //$NON-NLS-1$
+		} catch (IOException e) {
+			//Ignore, each feature is retrieved by its own generator
+			return;
 		}
+		Map<FetchScriptGenerator, IPath> destinations = new LinkedHashMap<>();
+		try {
+			AntScript retrieve = new AntScript(new BufferedOutputStream(new FileOutputStream(target)));
+			try {
+				retrieve.printProjectDeclaration("RetrieveFeatures", "main", "."); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				retrieve.printTargetDeclaration(TARGET_MAIN, null, null, null, null);
+
+				String[] files = new String[] {Constants.FEATURE_FILENAME_DESCRIPTOR, PROPERTIES_FILE};
+				Map<String, IFetchFactory> factories = new LinkedHashMap<>();
+				Map<String, List<FetchScriptGenerator>> byFactory = new LinkedHashMap<>();
+				for (FetchScriptGenerator generator : toRetrieve) {
+					String factoryId = (String) generator.mapInfos.get(FETCH_TASK_FACTORY_ID);
+					if (!factories.containsKey(factoryId))
+						factories.put(factoryId, fetchTaskFactories.newFactory(factoryId));
+					if (factories.get(factoryId) == null)
+						continue;
+					String name = (String) generator.mapInfos.get(IFetchFactory.KEY_ELEMENT_NAME);
+					destinations.put(generator, createTempFolder(root, "tempFeature." + name)); //$NON-NLS-1$
+					byFactory.computeIfAbsent(factoryId, id -> new ArrayList<>()).add(generator);
+				}
+
+				for (Entry<String, List<FetchScriptGenerator>> entry : byFactory.entrySet()) {
+					IFetchFactory factory = factories.get(entry.getKey());
+					List<Map<String, Object>> entries = new ArrayList<>();
+					List<IPath> folders = new ArrayList<>();
+					for (FetchScriptGenerator generator : entry.getValue()) {
+						entries.add(generator.mapInfos);
+						folders.add(destinations.get(generator));
+					}
+					if (factory instanceof P2IUFetchFactory) {
+						((P2IUFetchFactory) factory).generateRetrieveFilesCalls(entries, folders, files, p2Location, retrieve);
+					} else {
+						for (int i = 0; i < entries.size(); i++) {
+							factory.generateRetrieveFilesCall(entries.get(i), folders.get(i), files, retrieve);
+						}
+					}
+				}
+
+				retrieve.printTargetEnd();
+				for (IFetchFactory factory : factories.values()) {
+					if (factory != null)
+						factory.addTargets(retrieve);
+				}
+				retrieve.printProjectEnd();
+			} finally {
+				retrieve.close();
+			}
+			runRetrieveScript(target, parentName);
+		} catch (IOException | CoreException e) {
+			//Ignore, each feature is retrieved by its own generator
+			for (IPath destination : destinations.values()) {
+				clear(destination.toFile());
+			}
+			clear(p2Location.toFile());
+			target.delete();
+			return;
+		}
+
+		for (Entry<FetchScriptGenerator, IPath> entry : destinations.entrySet()) {
+			FetchScriptGenerator generator = entry.getKey();
+			try {
+				generator.readRetrievedFeature(new File(entry.getValue().toString()), (String) generator.mapInfos.get(IFetchFactory.KEY_ELEMENT_NAME));
+				generator.featureRetrieved = true;
+			} catch (CoreException e) {
+				//Ignore, the feature is retrieved again by its own generator
+				clear(entry.getValue().toFile());
+			}
+		}
+		clear(p2Location.toFile());
+		target.delete();
+	}
+
+	/*
+	 * Create an empty folder with a unique name starting with the given prefix.
+	 */
+	private static IPath createTempFolder(File root, String prefix) throws IOException {
+		File folder = Files.createTempDirectory(root.toPath(), prefix + '.').toFile();
+		return new Path(folder.getAbsolutePath()).addTrailingSeparator();
 	}
 
 	/**
@@ -362,22 +523,11 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 		IFetchFactory factory = (IFetchFactory) mapFileEntry.get(FETCH_TASK_FACTORY);
 		String elementToFetch = (String) mapFileEntry.get(IFetchFactory.KEY_ELEMENT_NAME);
 		String type = (String) mapFileEntry.get(IFetchFactory.KEY_ELEMENT_TYPE);
-		if (!manifestFileOnly)
-			factory.generateRetrieveElementCall(mapFileEntry, computeFinalLocation(type, elementToFetch, (Version) mapFileEntry.get(MATCHED_VERSION)), script);
-		else {
-			String[] files;
-			if (type.equals(IFetchFactory.ELEMENT_TYPE_FEATURE)) {
-				files = new String[] {Constants.FEATURE_FILENAME_DESCRIPTOR};
-			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_PLUGIN)) {
-				files = new String[] {Constants.PLUGIN_FILENAME_DESCRIPTOR, Constants.BUNDLE_FILENAME_DESCRIPTOR};
-			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_FRAGMENT)) {
-				files = new String[] {Constants.FRAGMENT_FILENAME_DESCRIPTOR, Constants.BUNDLE_FILENAME_DESCRIPTOR};
-			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_BUNDLE)) {
-				files = new String[] {Constants.BUNDLE_FILENAME_DESCRIPTOR};
-			} else {
-				files = new String[0];
-			}
-			factory.generateRetrieveFilesCall(mapFileEntry, computeFinalLocation(type, elementToFetch, (Version) mapFileEntry.get(MATCHED_VERSION)), files, script);
+		if (pendingRetrievals != null) {
+			Map<String, Object> retrievedEntry = mapFileEntry;
+			pendingRetrievals.computeIfAbsent((String) mapFileEntry.get(FETCH_TASK_FACTORY_ID), id -> new ArrayList<>()).add(() -> generateRetrieveCall(factory, retrievedEntry, elementToFetch, type, manifestFileOnly));
+		} else {
+			generateRetrieveCall(factory, mapFileEntry, elementToFetch, type, manifestFileOnly);
 		}
 
 		//key to use for version and source references properties files
@@ -404,6 +554,26 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 		return true;
 	}
 
+	private void generateRetrieveCall(IFetchFactory factory, Map<String, Object> mapFileEntry, String elementToFetch, String type, boolean manifestFileOnly) {
+		if (!manifestFileOnly)
+			factory.generateRetrieveElementCall(mapFileEntry, computeFinalLocation(type, elementToFetch, (Version) mapFileEntry.get(MATCHED_VERSION)), script);
+		else {
+			String[] files;
+			if (type.equals(IFetchFactory.ELEMENT_TYPE_FEATURE)) {
+				files = new String[] {Constants.FEATURE_FILENAME_DESCRIPTOR};
+			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_PLUGIN)) {
+				files = new String[] {Constants.PLUGIN_FILENAME_DESCRIPTOR, Constants.BUNDLE_FILENAME_DESCRIPTOR};
+			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_FRAGMENT)) {
+				files = new String[] {Constants.FRAGMENT_FILENAME_DESCRIPTOR, Constants.BUNDLE_FILENAME_DESCRIPTOR};
+			} else if (type.equals(IFetchFactory.ELEMENT_TYPE_BUNDLE)) {
+				files = new String[] {Constants.BUNDLE_FILENAME_DESCRIPTOR};
+			} else {
+				files = new String[0];
+			}
+			factory.generateRetrieveFilesCall(mapFileEntry, computeFinalLocation(type, elementToFetch, (Version) mapFileEntry.get(MATCHED_VERSION)), files, script);
+		}
+	}
+
 	/**
 	 * Helper method to control for what locations a mkdir Ant task was already
 	 * generated so we can reduce replication.
@@ -422,6 +592,40 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 	 * @throws CoreException
 	 */
 	protected void generateChildrenFetchScript() throws CoreException {
+		if (parallelFetch) {
+			Map<String, List<Runnable>> retrievals = new LinkedHashMap<>();
+			pendingRetrievals = retrievals;
+			try {
+				generateChildrenFetchEntries();
+			} finally {
+				pendingRetrievals = null;
+			}
+			generateParallelRetrievals(retrievals);
+		} else {
+			generateChildrenFetchEntries();
+		}
+	}
+
+	/*
+	 * Print the retrievals in one bounded parallel block per repository type. The calls generated for
+	 * an element are wrapped in a sequential block since a factory can use several tasks per element.
+	 */
+	private void generateParallelRetrievals(Map<String, List<Runnable>> retrievals) {
+		int threadCount = Utils.getGenerationThreadCount();
+		for (List<Runnable> calls : retrievals.values()) {
+			script.printParallel(threadCount, 0);
+			for (Runnable call : calls) {
+				script.printStartTag("sequential"); //$NON-NLS-1$
+				script.incrementIdent();
+				call.run();
+				script.decrementIdent();
+				script.printEndTag("sequential"); //$NON-NLS-1$
+			}
+			script.printEndParallel();
+		}
+	}
+
+	private void generateChildrenFetchEntries() throws CoreException {
 		FeatureEntry[] allChildren = feature.getRawPluginEntries();
 		FeatureEntry[] compiledChildren = feature.getPluginEntries();
 
@@ -470,6 +674,9 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 	 * @throws CoreException
 	 */
 	protected void retrieveFeature(String elementName, String elementType, Map<String, Object> elementInfos) throws CoreException {
+		if (featureRetrieved)
+			return;
+
 		// Generate a temporary Ant script which retrieves the feature.xml for this
 		// feature from CVS
 		File root = new File(workingDirectory);
@@ -495,6 +702,12 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 		File target = new File(root, DEFAULT_RETRIEVE_FILENAME_DESCRIPTOR);
 		IPath destination = new Path(root.getAbsolutePath()).append("tempFeature/"); //$NON-NLS-1$
 		try {
+			if (nestedGeneration) {
+				//Features retrieved concurrently each need their own script and folder, the same feature
+				//can be reached at the same time through several parents
+				target = File.createTempFile("retrieve." + elementName + '.', ".xml", root); //$NON-NLS-1$ //$NON-NLS-2$
+				destination = createTempFolder(root, "tempFeature." + elementName); //$NON-NLS-1$
+			}
 			AntScript retrieve = new AntScript(new BufferedOutputStream(new FileOutputStream(target)));
 			try {
 				retrieve.printProjectDeclaration("RetrieveFeature", "main", "."); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -522,6 +735,14 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 
 		// Run the Ant script to go to and retrieve the feature.xml. Call the Update
 		// code to construct the feature object to return.
+		runRetrieveScript(target, elementName);
+		readRetrievedFeature(new File(destination.toString()), elementName);
+
+		//We only delete here, so if an exception is thrown the user can still see the retrieve.xml 
+		target.delete();
+	}
+
+	private void runRetrieveScript(File target, String elementName) throws CoreException {
 		try {
 			Map<String, String> retrieveProp = new HashMap<>();
 			retrieveProp.put("fetch.failonerror", "true"); //$NON-NLS-1$//$NON-NLS-2$
@@ -543,14 +764,13 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 		} catch (Exception e) {
 			throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_FEATURE_MISSING, NLS.bind(Messages.error_retrieveFailed, elementName), e));
 		}
+	}
+
+	private void readRetrievedFeature(File featureFolder, String elementName) throws CoreException {
 		try {
 			BuildTimeFeatureFactory factory = BuildTimeFeatureFactory.getInstance();
-			File featureFolder = new File(destination.toString());
 			feature = factory.createFeature(featureFolder.toURL(), null);
 
-			//We only delete here, so if an exception is thrown the user can still see the retrieve.xml 
-			target.delete();
-
 			featureProperties = new Properties();
 			try (InputStream featureStream = new BufferedInputStream(new FileInputStream(new File(featureFolder, PROPERTIES_FILE)))) {
 				featureProperties.load(featureStream);
@@ -850,6 +1070,20 @@ public class FetchScriptGenerator extends AbstractScriptGenerator {
 		this.recursiveGeneration = recursiveGeneration;
 	}
 
+	/**
+	 * Retrieve the included features concurrently and generate bounded parallel blocks for the retrieval of the children.
+	 */
+	public void setParallelFetch(boolean parallelFetch) {
+		this.parallelFetch = parallelFetch;
+	}
+
+	/**
+	 * Retrieve the descriptors of the features included by a feature with a single script run.
+	 */
+	public void setBatchRetrieval(boolean batchRetrieval) {
+		this.batchRetrieval = batchRetrieval;
+	}
+
 	public void setScriptRunner(IScriptRunner runner) {
 		this.scriptRunner = runner;
 	}
@@ -91,6 +91,28 @@ public interface IBuildPropertiesConstants {
 	public static final String RESOLVER_DEV_MODE = "resolution.devMode"; //$NON-NLS-1$
 	public static final String PROPERTY_INDIVIDUAL_SOURCE = "individualSourceBundles"; //$NON-NLS-1$
 	public static final String PROPERTY_ALLOW_BINARY_CYCLES = "allowBinaryCycles"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_MANIFEST_LOADING = "parallelManifestLoading"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_FEATURE_PARSING = "parallelFeatureParsing"; //$NON-NLS-1$
+	public static final String PROPERTY_FEATURE_INDEX = "featureIndex"; //$NON-NLS-1$
+	public static final String PROPERTY_GENERATION_THREAD_COUNT = "generationThreadCount"; //$NON-NLS-1$
+	public static final String PROPERTY_MANIFEST_CACHE = "manifestCache"; //$NON-NLS-1$
+	public static final String PROPERTY_STATE_SNAPSHOT = "stateSnapshot"; //$NON-NLS-1$
+	public static final String PROPERTY_PROPERTIES_CACHE = "propertiesCache"; //$NON-NLS-1$
+	public static final String PROPERTY_INCREMENTAL_SCRIPTS = "incrementalScripts"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_SCRIPT_GENERATION = "parallelScriptGeneration"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_SOURCE_GENERATION = "parallelSourceGeneration"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_FETCH = "parallelFetch"; //$NON-NLS-1$
+	public static final String PROPERTY_BATCH_FEATURE_RETRIEVAL = "batchFeatureRetrieval"; //$NON-NLS-1$
+	public static final String PROPERTY_NESTED_JAR_CACHE = "nestedJarCache"; //$NON-NLS-1$
+	public static final String PROPERTY_NESTED_JAR_CACHE_DIRECTORY = "nestedJarCacheDirectory"; //$NON-NLS-1$
+	public static final String PROPERTY_STREAMING_ARCHIVES = "streamingArchives"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_ASSEMBLY = "parallelAssembly"; //$NON-NLS-1$
+	public static final String PROPERTY_ASSEMBLY_THREAD_COUNT = "assemblyThreadCount"; //$NON-NLS-1$
+	public static final String PROPERTY_BULK_ID_REPLACEMENT = "bulkIdReplacement"; //$NON-NLS-1$
+	public static final String PROPERTY_BUILD_METRICS = "buildMetrics"; //$NON-NLS-1$
+	public static final String PROPERTY_COMPILE_CACHE = "compileCache"; //$NON-NLS-1$
+	public static final String PROPERTY_COMPILE_CACHE_DIRECTORY = "compileCacheDirectory"; //$NON-NLS-1$
+	public static final String PROPERTY_PARALLEL_COMPILE_EXECUTOR = "parallelCompileExecutor"; //$NON-NLS-1$
 
 	public static final String PROPERTY_TRANSFORMED_REPO = "transformedRepoLocation"; //$NON-NLS-1$
 	public static final String PROPERTY_P2_METADATA_REPO = "p2.metadata.repo"; //$NON-NLS-1$
@@ -69,6 +69,11 @@ public interface IPDEBuildConstants {
 	public final static String DEFAULT_PLUGIN_REPOTAG_FILENAME_DESCRIPTOR = "pluginVersions.properties"; //$NON-NLS-1$
 	public final static String DEFAULT_FEATURE_REPOTAG_FILENAME_DESCRIPTOR = "featureVersions.properties"; //$NON-NLS-1$
 	public final static String DEFAULT_SOURCE_REFERENCES_FILENAME_DESCRIPTOR = "sourceReferences.properties"; //$NON-NLS-1$
+	public final static String DEFAULT_MANIFEST_CACHE_FILENAME = "manifests.cache"; //$NON-NLS-1$
+	public final static String DEFAULT_FEATURE_INDEX_FILENAME = "features.cache"; //$NON-NLS-1$
+	public final static String DEFAULT_ENTRY_VERSIONS_FILENAME = "entryVersions.map"; //$NON-NLS-1$
+	public final static String DEFAULT_STATE_SNAPSHOT_LOCATION = "stateSnapshot"; //$NON-NLS-1$
+	public final static String DEFAULT_SCRIPT_FINGERPRINTS_LOCATION = "scriptFingerprints"; //$NON-NLS-1$
 	public final static String DEFAULT_PLUGINS_POSTPROCESSINGSTEPS_FILENAME_DESCRIPTOR = "plugins.postProcessingSteps.properties"; //$NON-NLS-1$
 	public final static String DEFAULT_FEATURES_POSTPROCESSINGSTEPS_FILENAME_DESCRIPTOR = "features.postProcessingSteps.properties"; //$NON-NLS-1$
 	public final static String DEFAULT_CUSTOM_BUILD_CALLBACKS_FILE = "customBuildCallbacks.xml"; //$NON-NLS-1$
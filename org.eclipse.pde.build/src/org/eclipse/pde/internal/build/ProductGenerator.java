@@ -297,7 +297,7 @@ public class ProductGenerator extends AbstractScriptGenerator {
 		if (rootFeature == null)
 			return index;
 
-		Properties properties = AbstractScriptGenerator.readProperties(new Path(rootFeature.getRootLocation()).toOSString(), PROPERTIES_FILE, IStatus.OK);
+		Properties properties = AbstractScriptGenerator.readCachedProperties(new Path(rootFeature.getRootLocation()).toOSString(), PROPERTIES_FILE, IStatus.OK);
 		String[] extraEntries = Utils.getArrayFromString(properties.getProperty(PRODUCT_PREFIX + productFile.getId()));
 		for (String extraEntry : extraEntries) {
 			Map<String, Object> entry = Utils.parseExtraBundlesString(extraEntry, true);
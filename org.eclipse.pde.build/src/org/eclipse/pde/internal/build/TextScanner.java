@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build;
+
+/**
+ * Search of words in the content of xml files read in memory. The search compares the characters
+ * in place and does not allocate. This class has no dependency so that it can be used by the ant tasks.
+ * <p>
+ * As the scanning methods it replaces, an occurrence is only found if it is followed by at least
+ * one character.
+ * </p>
+ */
+public final class TextScanner {
+	private static final String COMMENT_START_TAG = "<!--"; //$NON-NLS-1$
+	private static final String COMMENT_END_TAG = "-->"; //$NON-NLS-1$
+
+	private TextScanner() {
+		//Static methods only
+	}
+
+	/**
+	 * Return the position of the first occurrence of one of the targets at or after start, or -1.
+	 *
+	 * @param buf the text to search
+	 * @param start the position to start from
+	 * @param targets the words to look for
+	 * @param ignoreCase whether the case of the letters is ignored
+	 * @param wholeWord whether the occurrence must be followed by a whitespace
+	 * @return int
+	 */
+	public static int scan(CharSequence buf, int start, String[] targets, boolean ignoreCase, boolean wholeWord) {
+		int length = buf.length();
+		for (int i = start; i < length; i++) {
+			char c = buf.charAt(i);
+			for (String target : targets) {
+				if (matches(buf, i, c, target, ignoreCase, wholeWord))
+					return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int scan(CharSequence buf, int start, String target, boolean ignoreCase, boolean wholeWord) {
+		int length = buf.length();
+		for (int i = start; i < length; i++) {
+			if (matches(buf, i, buf.charAt(i), target, ignoreCase, wholeWord))
+				return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * Same as {@link #scan(CharSequence, int, String[], boolean, boolean)} but the occurrences
+	 * located in xml comments are skipped.
+	 */
+	public static int scanNoComment(CharSequence buf, int start, String[] targets, boolean ignoreCase, boolean wholeWord) {
+		int length = buf.length();
+		for (int i = start; i < length; i++) {
+			char c = buf.charAt(i);
+			if (c == '<' && matches(buf, i, c, COMMENT_START_TAG, true, false)) {
+				int endComment = scan(buf, i, COMMENT_END_TAG, true, false);
+				if (endComment != -1) {
+					//resume on the end of the comment, as the targets may start with '-' or '>'
+					i = endComment - 1;
+					continue;
+				}
+			}
+			for (String target : targets) {
+				if (matches(buf, i, c, target, ignoreCase, wholeWord))
+					return i;
+			}
+		}
+		return -1;
+	}
+
+	public static int scanNoComment(CharSequence buf, int start, String target, boolean ignoreCase, boolean wholeWord) {
+		return scanNoComment(buf, start, new String[] {target}, ignoreCase, wholeWord);
+	}
+
+	/**
+	 * Return whether the target occurs at the given position of the text.
+	 */
+	public static boolean matches(CharSequence buf, int offset, String target, boolean ignoreCase) {
+		return offset >= 0 && offset < buf.length() && matches(buf, offset, buf.charAt(offset), target, ignoreCase, false);
+	}
+
+	private static boolean matches(CharSequence buf, int offset, char first, String target, boolean ignoreCase, boolean wholeWord) {
+		int targetLength = target.length();
+		int end = offset + targetLength;
+		if (end >= buf.length())
+			return false;
+		if (targetLength > 0) {
+			if (!sameChar(first, target.charAt(0), ignoreCase))
+				return false;
+			for (int j = 1; j < targetLength; j++) {
+				if (!sameChar(buf.charAt(offset + j), target.charAt(j), ignoreCase))
+					return false;
+			}
+		}
+		return !wholeWord || Character.isWhitespace(buf.charAt(end));
+	}
+
+	//Same comparison as String#equalsIgnoreCase
+	private static boolean sameChar(char c1, char c2, boolean ignoreCase) {
+		if (c1 == c2)
+			return true;
+		if (!ignoreCase)
+			return false;
+		char u1 = Character.toUpperCase(c1);
+		char u2 = Character.toUpperCase(c2);
+		return u1 == u2 || Character.toLowerCase(u1) == Character.toLowerCase(u2);
+	}
+}
@@ -18,6 +18,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 import java.util.zip.ZipFile;
 import org.eclipse.core.runtime.*;
 import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
@@ -420,6 +421,7 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 	}
 
 	public static void writeProperties(Properties properites, File outputFile, String comment) throws IOException {
+		AbstractScriptGenerator.invalidateProperties(outputFile);
 		outputFile.getParentFile().mkdirs();
 		OutputStream buildFile = new BufferedOutputStream(new FileOutputStream(outputFile));
 		try {
@@ -879,7 +881,7 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 	 * @return int
 	 */
 	static public int scan(StringBuffer buf, int start, String target) {
-		return scan(buf, start, new String[] {target});
+		return TextScanner.scan(buf, start, target, false, false);
 	}
 
 	/**
@@ -890,16 +892,7 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 	 * @return int
 	 */
 	static public int scan(StringBuffer buf, int start, String[] targets) {
-		for (int i = start; i < buf.length(); i++) {
-			for (String target : targets) {
-				if (i < buf.length() - target.length()) {
-					String match = buf.substring(i, i + target.length());
-					if (target.equals(match))
-						return i;
-				}
-			}
-		}
-		return -1;
+		return TextScanner.scan(buf, start, targets, false, false);
 	}
 
 	/**
@@ -962,6 +955,79 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 		transferStreams(new ByteArrayInputStream(buffer.toString().getBytes()), new FileOutputStream(buildFile));
 	}
 
+	/**
+	 * Return the number of threads to use for the parts of the script generation that can run concurrently.
+	 * The value comes from the {@link IBuildPropertiesConstants#PROPERTY_GENERATION_THREAD_COUNT} property
+	 * and defaults to the number of available processors.
+	 * 
+	 * @return int
+	 */
+	public static int getGenerationThreadCount() {
+		String value = AbstractScriptGenerator.getImmutableAntProperty(PROPERTY_GENERATION_THREAD_COUNT);
+		if (value != null) {
+			try {
+				int count = Integer.parseInt(value.trim());
+				if (count > 0)
+					return count;
+			} catch (NumberFormatException e) {
+				//ignore and use the default
+			}
+		}
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Run the given tasks on a bounded pool of threads and return their results in the
+	 * order of the tasks. The first failure is re-thrown once all the tasks are done.
+	 * 
+	 * @param tasks the tasks to run
+	 * @return List the results of the tasks
+	 * @throws CoreException
+	 */
+	public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws CoreException {
+		List<T> results = new ArrayList<>(tasks.size());
+		int threads = Math.min(getGenerationThreadCount(), tasks.size());
+		if (threads <= 1) {
+			for (Callable<T> task : tasks) {
+				try {
+					results.add(task.call());
+				} catch (Exception e) {
+					throw toCoreException(e);
+				}
+			}
+			return results;
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "PDE Build Worker"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			for (Future<T> future : executor.invokeAll(tasks)) {
+				results.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw toCoreException(e);
+		} catch (ExecutionException e) {
+			throw toCoreException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	private static CoreException toCoreException(Throwable e) {
+		if (e instanceof CoreException)
+			return (CoreException) e;
+		if (e instanceof RuntimeException)
+			throw (RuntimeException) e;
+		if (e instanceof Error)
+			throw (Error) e;
+		return new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_GENERIC, e.getMessage(), e));
+	}
+
 	public static Enumeration<Object> getArrayEnumerator(Object[] array) {
 		return new ArrayEnumeration(array);
 	}
@@ -1001,10 +1067,29 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 	}
 
 	public static String getEntryVersionMappings(FeatureEntry[] entries, BuildTimeSite site, AssemblyInformation assembly) {
-		if (entries == null || site == null)
+		Map<String, String> versions = getEntryVersionMap(entries, site, assembly);
+		if (versions == null)
 			return null;
 
 		StringBuffer result = new StringBuffer();
+		for (Map.Entry<String, String> entry : versions.entrySet()) {
+			result.append(entry.getKey());
+			result.append(',');
+			result.append(entry.getValue());
+			result.append(',');
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Return the versions to use for the given entries, keyed by id:major.minor.micro of the version requested.
+	 * Only the entries whose version needs to be replaced are returned.
+	 */
+	public static Map<String, String> getEntryVersionMap(FeatureEntry[] entries, BuildTimeSite site, AssemblyInformation assembly) {
+		if (entries == null || site == null)
+			return null;
+
+		Map<String, String> result = new LinkedHashMap<>();
 		for (FeatureEntry entry : entries) {
 			String versionRequested = entry.getVersion();
 			if (versionRequested == null)
@@ -1032,15 +1117,9 @@ public final class Utils implements IPDEBuildConstants, IBuildPropertiesConstant
 			} catch (CoreException e) {
 				continue;
 			}
-			if (newVersion != null) {
-				result.append(id);
-				result.append(':');
-				result.append(extract3Segments(versionRequested));
-				result.append(',');
-				result.append(newVersion);
-				result.append(',');
-			}
+			if (newVersion != null)
+				result.put(id + ':' + extract3Segments(versionRequested), newVersion);
 		}
-		return result.toString();
+		return result;
 	}
 }
@@ -421,6 +421,31 @@ public class AntScript implements IAntScript {
 		}
 	}
 
+	/**
+	 * Print an <code>eclipse.archive</code> task to the Ant file. The archive is written in a single pass
+	 * from the given file sets.
+	 * 
+	 * @param archive the archive to write
+	 * @param format the format of the archive, zip or tar.gz
+	 * @param update whether the entries of an existing archive should be kept
+	 * @param fileSets the content of the archive
+	 */
+	public void printArchiveTask(String archive, String format, boolean update, FileSet[] fileSets) {
+		printTab();
+		output.print("<eclipse.archive"); //$NON-NLS-1$
+		printAttribute("destfile", archive, true); //$NON-NLS-1$
+		printAttribute("format", format, true); //$NON-NLS-1$
+		printAttribute("update", update ? "true" : "false", true); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		output.println(">"); //$NON-NLS-1$
+		indent++;
+		for (FileSet fileSet : fileSets)
+			if (fileSet != null)
+				fileSet.print(this);
+		indent--;
+		printTab();
+		output.println("</eclipse.archive>"); //$NON-NLS-1$
+	}
+
 	/**
 	 * Print an <code>arg</code> element to the Ant file.
 	 * 
@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.ant;
+
+import java.util.*;
+
+/**
+ * The description of the compilation of a bundle, printed as a <code>bundle</code> element of the
+ * <code>eclipse.compileBundles</code> task. It holds the settings the build.jars target of the bundle
+ * gives to its compilation so that the task can compile the bundle without running its build.xml.
+ */
+public class BundleCompilation {
+
+	/**
+	 * A compiled folder of the bundle, printed as an <code>entry</code> element.
+	 */
+	public static class Entry {
+		protected String name;
+		protected JavacTask javac;
+		protected String available;
+		protected List<Object> classpath;
+		protected String resourceExcludes;
+
+		/**
+		 * @param name the name of the entry
+		 * @param javac the compilation of the entry in the build.xml of the bundle
+		 */
+		public Entry(String name, JavacTask javac) {
+			this.name = name;
+			this.javac = javac;
+		}
+
+		/**
+		 * Set the file whose existence means that the entry is already compiled.
+		 */
+		public void setAvailable(String available) {
+			this.available = available;
+		}
+
+		public void setClasspath(List<Object> classpath) {
+			this.classpath = classpath;
+		}
+
+		/**
+		 * Set the patterns of the files of the source folders not copied with the class files.
+		 */
+		public void setResourceExcludes(String resourceExcludes) {
+			this.resourceExcludes = resourceExcludes;
+		}
+
+		protected void print(AntScript script) {
+			Map<String, String> arguments = new LinkedHashMap<>();
+			arguments.put("name", name); //$NON-NLS-1$
+			putEscaped(arguments, "destdir", javac.destdir); //$NON-NLS-1$
+			putEscaped(arguments, "available", available); //$NON-NLS-1$
+			//The modular bundles are compiled without boot classpath
+			if (javac.bootclasspath == null)
+				arguments.put("modular", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+			putIfSet(arguments, "encoding", javac.encoding); //$NON-NLS-1$
+			putIfSet(arguments, "compilerArg", javac.specificCompileArgs); //$NON-NLS-1$
+			putIfSet(arguments, "argsFile", javac.compileArgsFile); //$NON-NLS-1$
+			putIfSet(arguments, "warningProperties", javac.warningProperties); //$NON-NLS-1$
+			putEscaped(arguments, "resourceExcludes", resourceExcludes); //$NON-NLS-1$
+			script.printStartTag("entry", arguments); //$NON-NLS-1$
+			script.incrementIdent();
+
+			Map<String, String> child = new LinkedHashMap<>(1);
+			for (String element : javac.srcdir) {
+				putEscaped(child, "path", element); //$NON-NLS-1$
+				script.printElement("src", child); //$NON-NLS-1$
+			}
+			if (classpath != null) {
+				for (Object element : classpath) {
+					putEscaped(child, "path", element.toString()); //$NON-NLS-1$
+					script.printElement("classpath", child); //$NON-NLS-1$
+				}
+			}
+			child.clear();
+			for (int i = 0; javac.excludes != null && i < javac.excludes.length; i++) {
+				putEscaped(child, "name", javac.excludes[i]); //$NON-NLS-1$
+				script.printElement("exclude", child); //$NON-NLS-1$
+			}
+
+			script.decrementIdent();
+			script.printEndTag("entry"); //$NON-NLS-1$
+		}
+	}
+
+	protected String name;
+	protected String javacSource;
+	protected String javacTarget;
+	protected String bootClasspath;
+	protected final List<String[]> environments = new ArrayList<>();
+	protected final List<Object> prerequisites = new ArrayList<>();
+	protected final List<Entry> entries = new ArrayList<>();
+
+	/**
+	 * @param name the normalized name of the bundle, used for its folder in the build temp folder
+	 */
+	public BundleCompilation(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Set the compiler settings given in the build.properties of the bundle, <code>null</code> when not set.
+	 */
+	public void setCompilerSettings(String source, String target, String bootclasspath) {
+		this.javacSource = source;
+		this.javacTarget = target;
+		this.bootClasspath = bootclasspath;
+	}
+
+	/**
+	 * Add an execution environment of the bundle, in the order they are looked up.
+	 * @param environment the name of the environment
+	 * @param source the compiler source level for the environment or <code>null</code>
+	 * @param target the compiler target level for the environment or <code>null</code>
+	 */
+	public void addEnvironment(String environment, String source, String target) {
+		environments.add(new String[] {environment, source, target});
+	}
+
+	/**
+	 * Set the problem markers of the prerequisites, whose content is logged when the bundle has compile errors.
+	 */
+	public void setPrerequisites(List<Object> prerequisites) {
+		this.prerequisites.clear();
+		this.prerequisites.addAll(prerequisites);
+	}
+
+	public void addEntry(Entry entry) {
+		entries.add(entry);
+	}
+
+	/**
+	 * Print the <code>bundle</code> element.
+	 * @param script the script to print to
+	 * @param arguments the arguments locating the bundle and its requirements in the task
+	 */
+	public void print(AntScript script, Map<String, String> arguments) {
+		Map<String, String> bundleArguments = new LinkedHashMap<>(arguments);
+		bundleArguments.put("name", name); //$NON-NLS-1$
+		putIfSet(bundleArguments, "javacSource", javacSource); //$NON-NLS-1$
+		putIfSet(bundleArguments, "javacTarget", javacTarget); //$NON-NLS-1$
+		putIfSet(bundleArguments, "bootClasspath", bootClasspath); //$NON-NLS-1$
+		script.printStartTag("bundle", bundleArguments); //$NON-NLS-1$
+		script.incrementIdent();
+
+		Map<String, String> child = new LinkedHashMap<>(3);
+		for (String[] environment : environments) {
+			child.clear();
+			child.put("name", environment[0]); //$NON-NLS-1$
+			putIfSet(child, "source", environment[1]); //$NON-NLS-1$
+			putIfSet(child, "target", environment[2]); //$NON-NLS-1$
+			script.printElement("environment", child); //$NON-NLS-1$
+		}
+		child.clear();
+		for (Object prerequisite : prerequisites) {
+			putEscaped(child, "path", prerequisite.toString()); //$NON-NLS-1$
+			script.printElement("prerequisite", child); //$NON-NLS-1$
+		}
+		for (Entry entry : entries) {
+			entry.print(script);
+		}
+
+		script.decrementIdent();
+		script.printEndTag("bundle"); //$NON-NLS-1$
+	}
+
+	static void putIfSet(Map<String, String> arguments, String name, String value) {
+		if (value != null)
+			putEscaped(arguments, name, value);
+	}
+
+	//The properties are expanded by the task, against the folder of the bundle
+	static void putEscaped(Map<String, String> arguments, String name, String value) {
+		arguments.put(name, value == null ? null : value.replace("${", "$${")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
@@ -43,7 +43,7 @@ public abstract class AbstractBuildScriptGenerator extends AbstractScriptGenerat
 
 	abstract protected Properties getBuildProperties() throws CoreException;
 
-	static public Properties getExecutionEnvironmentMappings() {
+	static synchronized public Properties getExecutionEnvironmentMappings() {
 		if (executionEnvironmentMappings != null)
 			return executionEnvironmentMappings;
 
@@ -14,7 +14,9 @@
 package org.eclipse.pde.internal.build.builder;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import org.eclipse.core.runtime.*;
 import org.eclipse.equinox.p2.publisher.eclipse.Feature;
 import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
@@ -84,8 +86,10 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 	}
 
 	private final Map<String, String> extractedLocations = new HashMap<>();
+	//The versions of the entries of the features generated, when the id replacers share a versions file
+	private EntryVersionsMap entryVersions = null;
 
-	public String getExtractedRoot(ClasspathElement element) {
+	public synchronized String getExtractedRoot(ClasspathElement element) {
 		if (element.getSubPath() == null)
 			return element.getPath();
 
@@ -221,6 +225,37 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 	 */
 	public void generate(BuildTimeFeature feature) throws CoreException {
 		generate(feature, true);
+		saveEntryVersions();
+	}
+
+	/**
+	 * Record the versions used to replace the generic versions of the entries of a feature and
+	 * return the location of the file where all the versions recorded are written.
+	 */
+	public synchronized String recordEntryVersions(Map<String, String> featureVersions, Map<String, String> pluginVersions) {
+		if (entryVersions == null)
+			entryVersions = new EntryVersionsMap();
+		if (featureVersions != null)
+			entryVersions.addFeatureVersions(featureVersions);
+		if (pluginVersions != null)
+			entryVersions.addPluginVersions(pluginVersions);
+		return getEntryVersionsLocation();
+	}
+
+	private String getEntryVersionsLocation() {
+		return workingDirectory + '/' + DEFAULT_ENTRY_VERSIONS_FILENAME;
+	}
+
+	private synchronized void saveEntryVersions() throws CoreException {
+		if (entryVersions == null)
+			return;
+		String location = getEntryVersionsLocation();
+		try {
+			entryVersions.save(new File(location));
+		} catch (IOException e) {
+			String message = NLS.bind(Messages.exception_writingFile, location);
+			throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_FILE, message, e));
+		}
 	}
 
 	protected void generate(BuildTimeFeature feature, boolean generateProductFiles) throws CoreException {
@@ -513,6 +548,10 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 		if (binaryFeature == false || models.isEmpty())
 			return;
 
+		boolean parallel = AbstractScriptGenerator.getPropertyAsBoolean(PROPERTY_PARALLEL_SCRIPT_GENERATION);
+		//The generators register the compiled elements concurrently in parallel mode
+		Set<String> compiledElements = parallel ? Collections.synchronizedSet(getCompiledElements()) : getCompiledElements();
+		List<ModelBuildScriptGenerator> generators = new ArrayList<>(models.size());
 		Set<BundleDescription> generatedScripts = new HashSet<>(models.size());
 		for (BundleDescription model : models) {
 			if (generatedScripts.contains(model))
@@ -525,7 +564,7 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 			@SuppressWarnings("rawtypes")
 			Set matchingEntries = (Set) ((Properties) model.getUserObject()).get(PLUGIN_ENTRY);
 			if (matchingEntries == null || matchingEntries.isEmpty())
-				return;
+				break;
 
 			@SuppressWarnings("rawtypes")
 			Iterator entryIter = matchingEntries.iterator();
@@ -536,7 +575,7 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 
 			ModelBuildScriptGenerator generator = new ModelBuildScriptGenerator();
 			generator.setBuildSiteFactory(siteFactory);
-			generator.setCompiledElements(getCompiledElements());
+			generator.setCompiledElements(compiledElements);
 			generator.setIgnoreMissingPropertiesFile(isIgnoreMissingPropertiesFile());
 			generator.setModel(model); // setModel has to be called before configurePersistentProperties because it reads the model's properties
 			generator.setFeatureGenerator(this);
@@ -546,9 +585,23 @@ public class BuildDirector extends AbstractBuildScriptGenerator {
 			generator.setSignJars(signJars);
 			generator.setAssociatedEntry(correspondingEntry);
 			generator.setGenerateSourceReferences(sourceReferences);
-			generator.generate();
+			if (parallel)
+				generators.add(generator);
+			else
+				generator.generate();
 		}
 
+		if (generators.isEmpty())
+			return;
+
+		List<Callable<Object>> tasks = new ArrayList<>(generators.size());
+		for (ModelBuildScriptGenerator generator : generators) {
+			tasks.add(() -> {
+				generator.generate();
+				return null;
+			});
+		}
+		Utils.invokeAll(tasks);
 	}
 
 	/**
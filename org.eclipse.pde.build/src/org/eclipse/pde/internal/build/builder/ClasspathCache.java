@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.builder;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.pde.internal.build.site.PDEState;
+
+/**
+ * Data computed by the {@link ClasspathComputer3_0} that only depends on the state and
+ * can therefore be shared by all the classpath computations of a build.
+ * A cache is discarded as soon as the state it has been computed from changes.
+ */
+class ClasspathCache {
+	/** Marker for the bundles whose prerequisites go through a cycle */
+	static final List<BundleDescription> CYCLE = Collections.unmodifiableList(new ArrayList<>(0));
+
+	private static final Map<State, ClasspathCache> caches = new WeakHashMap<>();
+
+	static synchronized ClasspathCache getCache(State state) {
+		ClasspathCache cache = caches.get(state);
+		if (cache == null || cache.timeStamp != state.getTimeStamp()) {
+			cache = new ClasspathCache(state.getTimeStamp());
+			caches.put(state, cache);
+		}
+		return cache;
+	}
+
+	private final long timeStamp;
+	private final Map<Long, BundleDescription[]> dependentBundles = new ConcurrentHashMap<>();
+	private final Map<Long, Map<String, String>> visiblePackages = new ConcurrentHashMap<>();
+	private final Map<String, List<BundleDescription>> closures = new ConcurrentHashMap<>();
+	private final Map<String, Boolean> filterMatches = new ConcurrentHashMap<>();
+	private final Map<String, Dictionary<String, Object>> filterProperties = new ConcurrentHashMap<>();
+
+	private ClasspathCache(long timeStamp) {
+		this.timeStamp = timeStamp;
+	}
+
+	BundleDescription[] getDependentBundles(BundleDescription bundle) {
+		return dependentBundles.computeIfAbsent(Long.valueOf(bundle.getBundleId()), id -> PDEState.getDependentBundles(bundle));
+	}
+
+	Map<String, String> getVisiblePackages(BundleDescription bundle, Function<BundleDescription, Map<String, String>> computer) {
+		return visiblePackages.computeIfAbsent(Long.valueOf(bundle.getBundleId()), id -> computer.apply(bundle));
+	}
+
+	/**
+	 * Return the prerequisite closure recorded for the given key, {@link #CYCLE} or <code>null</code> if it has not been computed yet.
+	 */
+	List<BundleDescription> getClosure(String key) {
+		return closures.get(key);
+	}
+
+	void putClosure(String key, List<BundleDescription> closure) {
+		closures.put(key, closure);
+	}
+
+	/**
+	 * Return whether the platform filter of the given bundle matches the platform identified by the given key.
+	 */
+	boolean matchFilter(BundleDescription bundle, String filterKey, Predicate<BundleDescription> matcher) {
+		return filterMatches.computeIfAbsent(bundle.getBundleId() + filterKey, key -> Boolean.valueOf(matcher.test(bundle))).booleanValue();
+	}
+
+	/**
+	 * Return the properties a platform filter is matched against for the platform identified by the given key.
+	 */
+	Dictionary<String, Object> getFilterProperties(String filterKey, Function<String, Dictionary<String, Object>> creator) {
+		return filterProperties.computeIfAbsent(filterKey, creator);
+	}
+}
@@ -24,7 +24,6 @@ import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
 import org.eclipse.osgi.service.resolver.*;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.internal.build.*;
-import org.eclipse.pde.internal.build.site.PDEState;
 import org.osgi.framework.Filter;
 
 public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConstants, IXMLConstants, IBuildPropertiesConstants {
@@ -132,6 +131,8 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 	private Map<String, ClasspathElement> pathElements = null;
 	private boolean allowBinaryCycles = false;
 	private Set<Long> requiredIds = null;
+	private ClasspathCache cache = null;
+	private String filterKey = null;
 	protected String modelLocation = null;
 
 	public ClasspathComputer3_0(ModelBuildScriptGenerator modelGenerator) {
@@ -149,25 +150,28 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 	 */
 	@Override
 	public List<Object> getClasspath(BundleDescription model, ModelBuildScriptGenerator.CompiledEntry jar) throws CoreException {
-		List<Object> classpath = new ArrayList<>(20);
-		List<BundleDescription> pluginChain = new ArrayList<>(10); //The list of plugins added to detect cycle
-		modelLocation = generator.getLocation(model);
-		Set<BundleDescription> addedPlugins = new HashSet<>(10); //The set of all the plugins already added to the classpath (this allows for optimization)
-		pathElements = new HashMap<>();
-		visiblePackages = getVisiblePackages(model);
-		requiredIds = new HashSet<>();
-		allowBinaryCycles = AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_ALLOW_BINARY_CYCLES);
+		try (BuildMetrics.Phase phase = BuildMetrics.start("classpath", model.getSymbolicName())) { //$NON-NLS-1$
+			List<Object> classpath = new ArrayList<>(20);
+			List<BundleDescription> pluginChain = new ArrayList<>(10); //The list of plugins added to detect cycle
+			modelLocation = generator.getLocation(model);
+			Set<BundleDescription> addedPlugins = new HashSet<>(10); //The set of all the plugins already added to the classpath (this allows for optimization)
+			pathElements = new HashMap<>();
+			cache = ClasspathCache.getCache(generator.getSite(false).getRegistry().getState());
+			filterKey = getFilterKey();
+			visiblePackages = cache.getVisiblePackages(model, this::getVisiblePackages);
+			requiredIds = new HashSet<>();
+			allowBinaryCycles = AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_ALLOW_BINARY_CYCLES);
 
-		//PREREQUISITE
-		addPrerequisites(model, classpath, modelLocation, pluginChain, addedPlugins);
+			//PREREQUISITE
+			addPrerequisites(model, classpath, modelLocation, pluginChain, addedPlugins);
 
-		//SELF
-		addSelf(model, jar, classpath, modelLocation, pluginChain, addedPlugins);
+			//SELF
+			addSelf(model, jar, classpath, modelLocation, pluginChain, addedPlugins);
 
-		recordRequiredIds(model);
-
-		return classpath;
+			recordRequiredIds(model);
 
+			return classpath;
+		}
 	}
 
 	private void recordRequiredIds(BundleDescription model) {
@@ -325,7 +329,13 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 
 	private Properties getBuildPropertiesFor(BundleDescription bundle) {
 		try {
-			Properties bundleProperties = AbstractScriptGenerator.readProperties(generator.getLocation(bundle), PROPERTIES_FILE, IStatus.OK);
+			Properties bundleProperties = AbstractScriptGenerator.readCachedProperties(generator.getLocation(bundle), PROPERTIES_FILE, IStatus.OK);
+			if (bundleProperties instanceof AbstractScriptGenerator.ReadOnlyProperties) {
+				//The cached properties are shared, the caller gets a copy it can modify
+				Properties copy = new Properties();
+				copy.putAll(bundleProperties);
+				bundleProperties = copy;
+			}
 			if (Utils.isStringIn(generator.getClasspathEntries(bundle), ModelBuildScriptGenerator.DOT) != -1) {
 				String sourceFolder = bundleProperties.getProperty(PROPERTY_SOURCE_PREFIX + ModelBuildScriptGenerator.DOT);
 				if (sourceFolder != null) {
@@ -566,9 +576,23 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 		if (addedPlugins.contains(target)) //the plugin we are considering has already been added	
 			return;
 
+		//When starting a walk, reuse the prerequisites computed for other jars. This adds the plugins in the same order than the walk below.
+		if (pluginChain.isEmpty()) {
+			List<BundleDescription> closure = getPrerequisiteClosure(target, new HashSet<>());
+			if (closure != null) {
+				for (BundleDescription prerequisite : closure) {
+					if (!addedPlugins.contains(prerequisite))
+						addPlugin(prerequisite, classpath, baseLocation);
+				}
+				addedPlugins.addAll(closure);
+				addedPlugins.add(target);
+				return;
+			}
+		}
+
 		// add libraries from pre-requisite plug-ins.  Don't worry about the export flag
 		// as all required plugins may be required for compilation.
-		BundleDescription[] requires = PDEState.getDependentBundles(target);
+		BundleDescription[] requires = cache.getDependentBundles(target);
 		pluginChain.add(target);
 		for (BundleDescription require : requires) {
 			addPluginAndPrerequisites(require, classpath, baseLocation, pluginChain, addedPlugins);
@@ -577,6 +601,45 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 		addedPlugins.add(target);
 	}
 
+	/*
+	 * Return the prerequisites of the target matching the current filter, in the order they are added to the classpath
+	 * by addPrerequisites, or null if the prerequisites go through a cycle. The results are recorded in the classpath cache.
+	 */
+	private List<BundleDescription> getPrerequisiteClosure(BundleDescription target, Set<BundleDescription> inProgress) {
+		String key = target.getBundleId() + filterKey;
+		List<BundleDescription> closure = cache.getClosure(key);
+		if (closure != null)
+			return closure == ClasspathCache.CYCLE ? null : closure;
+		if (!inProgress.add(target))
+			return null;
+
+		Set<BundleDescription> result = new LinkedHashSet<>();
+		for (BundleDescription require : cache.getDependentBundles(target)) {
+			if (!matchFilter(require))
+				continue;
+			List<BundleDescription> requireClosure = getPrerequisiteClosure(require, inProgress);
+			if (requireClosure == null) {
+				inProgress.remove(target);
+				cache.putClosure(key, ClasspathCache.CYCLE);
+				return null;
+			}
+			result.add(require);
+			result.addAll(requireClosure);
+		}
+		inProgress.remove(target);
+		closure = Collections.unmodifiableList(new ArrayList<>(result));
+		cache.putClosure(key, closure);
+		return closure;
+	}
+
+	//The prerequisites retained depend on the platform of the entry being built
+	private String getFilterKey() {
+		FeatureEntry associatedEntry = generator.getAssociatedEntry();
+		if (associatedEntry == null)
+			return ""; //$NON-NLS-1$
+		return '|' + associatedEntry.getOS() + '|' + associatedEntry.getWS() + '|' + associatedEntry.getArch() + '|' + associatedEntry.getNL();
+	}
+
 	/* We can allow a cycle if it only contains 1 bundle that needs to be built and the rest are  binary. */
 	private boolean isAllowableCycle(BundleDescription target, List<BundleDescription> pluginChain) {
 		boolean haveNonBinary = false;
@@ -616,10 +679,6 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 	}
 
 	private boolean matchFilter(BundleDescription target) {
-		Filter filter = BundleHelper.getDefault().getFilter(target);
-		if (filter == null) //Target is platform independent, add it 
-			return true;
-
 		FeatureEntry associatedEntry = generator.getAssociatedEntry();
 		if (associatedEntry == null)
 			return true;
@@ -631,7 +690,16 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 		if (os == null && ws == null && arch == null && nl == null) //I'm a platform independent plugin
 			return true;
 
-		//The plugin for which we are generating the classpath and target are not platform independent
+		return cache.matchFilter(target, filterKey, bundle -> {
+			Filter filter = BundleHelper.getDefault().getFilter(bundle);
+			if (filter == null) //Target is platform independent, add it 
+				return true;
+			return filter.match(cache.getFilterProperties(filterKey, key -> createFilterProperties(os, ws, arch, nl)));
+		});
+	}
+
+	//The plugin for which we are generating the classpath and target are not platform independent
+	private static Dictionary<String, Object> createFilterProperties(String os, String ws, String arch, String nl) {
 		Dictionary<String, Object> properties = new Hashtable<>(3);
 		if (os != null) {
 			Object value = os.indexOf(',') > -1 ? (Object) Utils.getArrayFromString(os, ",") : os; //$NON-NLS-1$
@@ -657,7 +725,7 @@ public class ClasspathComputer3_0 implements IClasspathComputer, IPDEBuildConsta
 		} else
 			properties.put(OSGI_NL, CatchAllValue.singleton);
 
-		return filter.match(properties);
+		return properties;
 	}
 
 	/**
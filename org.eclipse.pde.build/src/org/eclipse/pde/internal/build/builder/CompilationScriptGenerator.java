@@ -16,6 +16,7 @@ import java.util.*;
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.internal.build.*;
+import org.eclipse.pde.internal.build.ant.BundleCompilation;
 
 public class CompilationScriptGenerator extends AbstractScriptGenerator {
 
@@ -90,51 +91,154 @@ public class CompilationScriptGenerator extends AbstractScriptGenerator {
 		List<BundleDescription> sortedPlugins = Utils.extractPlugins(getSite(false).getRegistry().getSortedBundles(), plugins);
 		IPath basePath = new Path(workingDirectory);
 
-		Set<Long> bucket = null;
-		if (parallel) {
-			bucket = new HashSet<>();
+		if (!parallel) {
+			for (BundleDescription bundle : sortedPlugins) {
+				// Individual source bundles have empty build.jars targets, skip them
+				if (!Utils.isSourceBundle(bundle))
+					printBuildJars(bundle, basePath);
+			}
+			return;
+		}
+
+		List<List<BundleDescription>> waves = computeWaves(sortedPlugins);
+		if (getPropertyAsBoolean(PROPERTY_PARALLEL_COMPILE_EXECUTOR)) {
+			printCompileBundles(sortedPlugins, waves, basePath);
+			return;
+		}
+
+		for (List<BundleDescription> wave : waves) {
 			script.printParallel(threadCount, threadsPerProcessor);
+			for (BundleDescription bundle : wave) {
+				printBuildJars(bundle, basePath);
+			}
+			script.printEndParallel();
 		}
+	}
 
-		for (BundleDescription bundle : sortedPlugins) {
-			// Individual source bundles have empty build.jars targets, skip them
-			if (Utils.isSourceBundle(bundle))
-				continue;
+	private void printBuildJars(BundleDescription bundle, IPath basePath) {
+		IPath location = Utils.makeRelative(new Path(getLocation(bundle)), basePath);
+		script.printAntTask(DEFAULT_BUILD_SCRIPT_FILENAME, location.toString(), TARGET_BUILD_JARS, null, null, null);
+	}
+
+	/*
+	 * Print a single eclipse.compileBundles task. It starts the compilation of a bundle as soon as its
+	 * prerequisites are compiled, and compiles the bundles described by the generation of their script
+	 * without running their build.xml.
+	 */
+	private void printCompileBundles(List<BundleDescription> sortedPlugins, List<List<BundleDescription>> waves, IPath basePath) {
+		Map<Long, Integer> positions = new HashMap<>();
+		for (int i = 0; i < sortedPlugins.size(); i++) {
+			positions.put(Long.valueOf(sortedPlugins.get(i).getBundleId()), Integer.valueOf(i));
+		}
 
-			if (parallel) {
-				if (requiredInBucket(bundle, bucket)) {
-					script.printEndParallel();
-					script.printParallel(threadCount, threadsPerProcessor);
-					bucket.clear();
+		Map<String, String> arguments = new LinkedHashMap<>();
+		if (threadCount > 0)
+			arguments.put("threadCount", String.valueOf(threadCount)); //$NON-NLS-1$
+		if (threadsPerProcessor > 0)
+			arguments.put("threadsPerProcessor", String.valueOf(threadsPerProcessor)); //$NON-NLS-1$
+		script.printStartTag("eclipse.compileBundles", arguments); //$NON-NLS-1$
+		script.incrementIdent();
+		for (List<BundleDescription> wave : waves) {
+			for (BundleDescription bundle : wave) {
+				int position = positions.get(Long.valueOf(bundle.getBundleId())).intValue();
+				StringBuffer requires = new StringBuffer();
+				for (int required : getRequiredPositions(bundle, positions, position)) {
+					if (requires.length() > 0)
+						requires.append(':');
+					requires.append(sortedPlugins.get(required).getBundleId());
 				}
-				bucket.add(Long.valueOf(bundle.getBundleId()));
+
+				Map<String, String> bundleArguments = new LinkedHashMap<>();
+				bundleArguments.put("id", String.valueOf(bundle.getBundleId())); //$NON-NLS-1$
+				bundleArguments.put("dir", Utils.makeRelative(new Path(getLocation(bundle)), basePath).toString()); //$NON-NLS-1$
+				if (requires.length() > 0)
+					bundleArguments.put("requires", requires.toString()); //$NON-NLS-1$
+				BundleCompilation compilation = assemblyData.getCompilation(bundle);
+				if (compilation != null)
+					compilation.print(script, bundleArguments);
+				else
+					script.printElement("bundle", bundleArguments); //$NON-NLS-1$
 			}
+		}
+		script.decrementIdent();
+		script.printEndTag("eclipse.compileBundles"); //$NON-NLS-1$
+	}
 
-			IPath location = Utils.makeRelative(new Path(getLocation(bundle)), basePath);
-			script.printAntTask(DEFAULT_BUILD_SCRIPT_FILENAME, location.toString(), TARGET_BUILD_JARS, null, null, null);
+	/*
+	 * Group the bundles in waves that can be compiled in parallel. A bundle is placed in the wave
+	 * following the last wave containing one of its prerequisites. Within a wave, the bundles heading
+	 * the longest chains of dependent bundles come first so they start as early as possible.
+	 */
+	private List<List<BundleDescription>> computeWaves(List<BundleDescription> sortedPlugins) {
+		Map<Long, Integer> positions = new HashMap<>();
+		for (int i = 0; i < sortedPlugins.size(); i++) {
+			positions.put(Long.valueOf(sortedPlugins.get(i).getBundleId()), Integer.valueOf(i));
 		}
 
-		if (parallel)
-			script.printEndParallel();
+		//The required ids come from the classpath computation, only the ones sorted before a bundle are considered
+		List<int[]> prerequisites = new ArrayList<>(sortedPlugins.size());
+		for (int i = 0; i < sortedPlugins.size(); i++) {
+			prerequisites.add(getRequiredPositions(sortedPlugins.get(i), positions, i));
+		}
+
+		int[] levels = new int[sortedPlugins.size()];
+		for (int i = 0; i < sortedPlugins.size(); i++) {
+			for (int required : prerequisites.get(i)) {
+				levels[i] = Math.max(levels[i], levels[required] + 1);
+			}
+		}
+
+		int[] heights = new int[sortedPlugins.size()];
+		for (int i = sortedPlugins.size() - 1; i >= 0; i--) {
+			for (int required : prerequisites.get(i)) {
+				heights[required] = Math.max(heights[required], heights[i] + 1);
+			}
+		}
+
+		List<List<Integer>> waves = new ArrayList<>();
+		for (int i = 0; i < sortedPlugins.size(); i++) {
+			// Individual source bundles have empty build.jars targets, skip them
+			if (Utils.isSourceBundle(sortedPlugins.get(i)))
+				continue;
+			while (waves.size() <= levels[i])
+				waves.add(new ArrayList<>());
+			waves.get(levels[i]).add(Integer.valueOf(i));
+		}
+
+		List<List<BundleDescription>> result = new ArrayList<>(waves.size());
+		for (List<Integer> wave : waves) {
+			if (wave.isEmpty())
+				continue;
+			wave.sort((a, b) -> heights[b.intValue()] - heights[a.intValue()]);
+			List<BundleDescription> bundles = new ArrayList<>(wave.size());
+			for (Integer index : wave) {
+				bundles.add(sortedPlugins.get(index.intValue()));
+			}
+			result.add(bundles);
+		}
+		return result;
 	}
 
-	private boolean requiredInBucket(BundleDescription bundle, Set<Long> bucket) {
+	private int[] getRequiredPositions(BundleDescription bundle, Map<Long, Integer> positions, int position) {
 		Properties properties = (Properties) bundle.getUserObject();
-		if (properties != null) {
-			String required = properties.getProperty(PROPERTY_REQUIRED_BUNDLE_IDS);
-			if (required != null) {
-				String[] ids = Utils.getArrayFromString(required, ":"); //$NON-NLS-1$
-				for (String id2 : ids) {
-					try {
-						if (bucket.contains(Long.valueOf(id2))) {
-							return true;
-						}
-					} catch (NumberFormatException e) {
-						//ignore
-					}
-				}
+		if (properties == null)
+			return new int[0];
+		String required = properties.getProperty(PROPERTY_REQUIRED_BUNDLE_IDS);
+		if (required == null)
+			return new int[0];
+
+		String[] ids = Utils.getArrayFromString(required, ":"); //$NON-NLS-1$
+		int[] result = new int[ids.length];
+		int count = 0;
+		for (String id : ids) {
+			try {
+				Integer requiredPosition = positions.get(Long.valueOf(id));
+				if (requiredPosition != null && requiredPosition.intValue() < position)
+					result[count++] = requiredPosition.intValue();
+			} catch (NumberFormatException e) {
+				//ignore
 			}
 		}
-		return false;
+		return Arrays.copyOf(result, count);
 	}
 }
@@ -93,38 +93,40 @@ public class FeatureBuildScriptGenerator extends AbstractScriptGenerator {
 			return;
 		}
 
-		initializeVariables();
-
-		// if the feature defines its own custom script, we do not generate a
-		// new one but we do try to update the version number
-		boolean custom = TRUE.equalsIgnoreCase((String) getBuildProperties().get(PROPERTY_CUSTOM));
-		File customBuildFile = null;
-		if (custom) {
-			customBuildFile = new File(featureRootLocation, DEFAULT_BUILD_SCRIPT_FILENAME);
-			if (!customBuildFile.exists()) {
-				String message = NLS.bind(Messages.error_missingCustomBuildFile, customBuildFile);
-				throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_SCRIPT, message, null));
-			}
-			/* need to do root files here because we won't be doing the gatherBinParts where it normally happens */
-			List<Config> configs = getConfigInfos();
-			for (Config config : configs) {
-				director.getAssemblyData().addRootFileProvider(config, feature);
-			}
+		try (BuildMetrics.Phase phase = BuildMetrics.start("featureScript", feature.getId())) { //$NON-NLS-1$
+			initializeVariables();
+
+			// if the feature defines its own custom script, we do not generate a
+			// new one but we do try to update the version number
+			boolean custom = TRUE.equalsIgnoreCase((String) getBuildProperties().get(PROPERTY_CUSTOM));
+			File customBuildFile = null;
+			if (custom) {
+				customBuildFile = new File(featureRootLocation, DEFAULT_BUILD_SCRIPT_FILENAME);
+				if (!customBuildFile.exists()) {
+					String message = NLS.bind(Messages.error_missingCustomBuildFile, customBuildFile);
+					throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_SCRIPT, message, null));
+				}
+				/* need to do root files here because we won't be doing the gatherBinParts where it normally happens */
+				List<Config> configs = getConfigInfos();
+				for (Config config : configs) {
+					director.getAssemblyData().addRootFileProvider(config, feature);
+				}
 
-			//Feature had a custom build script, we need to update the version in it.
-			//Do it here after generateChildrenScripts since there may have been a suffix generated.
-			try {
-				Utils.updateVersion(customBuildFile, PROPERTY_FEATURE_VERSION_SUFFIX, feature.getVersion());
-			} catch (IOException e) {
-				String message = NLS.bind(Messages.exception_writeScript, customBuildFile);
-				throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_SCRIPT, message, e));
-			}
-		} else {
-			openScript(featureRootLocation, DEFAULT_BUILD_SCRIPT_FILENAME);
-			try {
-				generateBuildScript();
-			} finally {
-				closeScript();
+				//Feature had a custom build script, we need to update the version in it.
+				//Do it here after generateChildrenScripts since there may have been a suffix generated.
+				try {
+					Utils.updateVersion(customBuildFile, PROPERTY_FEATURE_VERSION_SUFFIX, feature.getVersion());
+				} catch (IOException e) {
+					String message = NLS.bind(Messages.exception_writeScript, customBuildFile);
+					throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_WRITING_SCRIPT, message, e));
+				}
+			} else {
+				openScript(featureRootLocation, DEFAULT_BUILD_SCRIPT_FILENAME);
+				try {
+					generateBuildScript();
+				} finally {
+					closeScript();
+				}
 			}
 		}
 	}
@@ -393,6 +395,15 @@ public class FeatureBuildScriptGenerator extends AbstractScriptGenerator {
 	}
 
 	private void generateIdReplacerCall(String root) throws CoreException {
+		if (getPropertyAsBoolean(PROPERTY_BULK_ID_REPLACEMENT)) {
+			Map<String, String> featureVersions = Utils.getEntryVersionMap(feature.getRawIncludedFeatureReferences(), getSite(false), null);
+			Map<String, String> pluginVersions = Utils.getEntryVersionMap(feature.getRawPluginEntries(), getSite(false), null);
+			String versionsFile = director.recordEntryVersions(featureVersions, pluginVersions);
+
+			script.println("<eclipse.idReplacer featureFilePath=\"" + AntScript.getEscaped(root) + '/' + Constants.FEATURE_FILENAME_DESCRIPTOR + "\"  selfVersion=\"" + feature.getVersion() + "\" versionsFile=\"" + AntScript.getEscaped(versionsFile) + "\"/>"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			return;
+		}
+
 		String featureVersionInfo = Utils.getEntryVersionMappings(feature.getRawIncludedFeatureReferences(), getSite(false));
 		String pluginVersionInfo = Utils.getEntryVersionMappings(feature.getRawPluginEntries(), getSite(false));
 
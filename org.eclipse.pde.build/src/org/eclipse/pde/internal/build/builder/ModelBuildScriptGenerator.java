@@ -130,6 +130,8 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 
 	private boolean generateErrorPropertyAttribute = true;
 	private boolean sourceReferences = false;
+	//The compilation of the bundle by the compile script, null when its build.jars target is run
+	private BundleCompilation compilation = null;
 
 	/**
 	 * @see AbstractScriptGenerator#generate()
@@ -149,21 +151,29 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		//		if (featureGenerator != null && featureGenerator.getBuildProperties().containsKey(GENERATION_SOURCE_PLUGIN_PREFIX + model.getSymbolicName()))
 		//			return;
 
-		initializeVariables();
-		if (BundleHelper.getDefault().isDebugging())
-			System.out.println("Generating plugin " + model.getSymbolicName()); //$NON-NLS-1$
+		try (BuildMetrics.Phase phase = BuildMetrics.start("pluginScript", model.getSymbolicName())) { //$NON-NLS-1$
+			initializeVariables();
+			if (BundleHelper.getDefault().isDebugging())
+				System.out.println("Generating plugin " + model.getSymbolicName()); //$NON-NLS-1$
 
-		String custom = (String) getBuildProperties().get(PROPERTY_CUSTOM);
-		if (custom != null && custom.equalsIgnoreCase("true")) { //$NON-NLS-1$
-			updateExistingScript();
-			return;
-		}
+			String custom = (String) getBuildProperties().get(PROPERTY_CUSTOM);
+			if (custom != null && custom.equalsIgnoreCase("true")) { //$NON-NLS-1$
+				updateExistingScript();
+				return;
+			}
 
-		openScript(getLocation(model), buildScriptFileName);
-		try {
-			generateBuildScript();
-		} finally {
-			closeScript();
+			boolean incremental = getPropertyAsBoolean(PROPERTY_INCREMENTAL_SCRIPTS);
+			if (incremental)
+				openIncrementalScript(getLocation(model), buildScriptFileName);
+			else
+				openScript(getLocation(model), buildScriptFileName);
+			try {
+				generateBuildScript();
+			} finally {
+				closeScript();
+			}
+			if (incremental)
+				saveIncrementalScript();
 		}
 	}
 
@@ -289,6 +299,7 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 	 * @throws CoreException
 	 */
 	private void generateBuildScript() throws CoreException {
+		compilation = createCompilation();
 		generatePrologue();
 		generateBuildUpdateJarTarget();
 
@@ -298,6 +309,8 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 			generateBuildJarsTargetForSourceGathering();
 			generateEmptyBuildSourcesTarget();
 		}
+		if (featureGenerator != null && featureGenerator.getAssemblyData() != null)
+			featureGenerator.getAssemblyData().setCompilation(model, compilation);
 
 		generatePublishBinPartsTarget();
 		generateGatherBinPartsTarget();
@@ -313,6 +326,22 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		generateEpilogue();
 	}
 
+	/*
+	 * Return the description of the compilation of the bundle for the eclipse.compileBundles task, or null
+	 * when the task has to run the build.jars target of the bundle. The source bundles, the custom callbacks,
+	 * the compile cache, the workspace binaries and the custom compiler adapters are only handled by the script.
+	 */
+	private BundleCompilation createCompilation() throws CoreException {
+		if (!getPropertyAsBoolean(PROPERTY_PARALLEL_COMPILE_EXECUTOR) || featureGenerator == null || featureGenerator.getAssemblyData() == null)
+			return null;
+		if (customBuildCallbacks != null || workspaceOutputFolders != null || !generateErrorPropertyAttribute || getPropertyAsBoolean(PROPERTY_COMPILE_CACHE))
+			return null;
+		Properties properties = getBuildProperties();
+		if (properties.getProperty(SOURCE_PLUGIN, null) != null || properties.getProperty(PROPERTY_COMPILER_ADAPTER) != null)
+			return null;
+		return new BundleCompilation(getNormalizedName(model));
+	}
+
 	/**
 	 * Method generateEmptyBuildSourceTarget.
 	 */
@@ -1086,6 +1115,8 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 			jreProfile = null;
 		}
 
+		if (compilation != null)
+			compilation.setCompilerSettings(javacSource, javacTarget, bootClasspath);
 		if (javacSource != null)
 			script.printProperty(PROPERTY_BUNDLE_JAVAC_SOURCE, javacSource);
 		if (javacTarget != null)
@@ -1119,6 +1150,8 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 				script.printConditionIsSet(PROPERTY_BUNDLE_JAVAC_SOURCE, source, environment);
 			if (javacTarget == null && target != null)
 				script.printConditionIsSet(PROPERTY_BUNDLE_JAVAC_TARGET, target, environment);
+			if (compilation != null)
+				compilation.addEnvironment(environment, source, target);
 		}
 
 		if (javacSource == null)
@@ -1286,7 +1319,10 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		script.printStartTag("eclipse.logCompileError", arguments); //$NON-NLS-1$
 		script.incrementIdent();
 		arguments.clear();
-		for (Object object : getPrequisitePaths()) {
+		List<Object> prerequisites = getPrequisitePaths();
+		if (compilation != null)
+			compilation.setPrerequisites(prerequisites);
+		for (Object object : prerequisites) {
 			arguments.put("name", object.toString()); //$NON-NLS-1$
 			script.printElement("include", arguments); //$NON-NLS-1$
 		}
@@ -1463,8 +1499,17 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 			else {
 				String destPath = featureGenerator.getExtractedRoot(element);
 				String destDir = Utils.getPropertyFormat(PROPERTY_BUILD_DIRECTORY) + '/' + "nestedJars" + '/' + destPath.toString(); //$NON-NLS-1$
-				script.printMkdirTask(destDir);
-				script.printUnzipTask(element.getPath(), destDir, false, element.getSubPath(), null);
+				if (getPropertyAsBoolean(PROPERTY_NESTED_JAR_CACHE)) {
+					Map<String, String> arguments = new LinkedHashMap<>();
+					arguments.put("jar", element.getPath()); //$NON-NLS-1$
+					arguments.put("path", element.getSubPath()); //$NON-NLS-1$
+					arguments.put("todir", destDir); //$NON-NLS-1$
+					arguments.put("cache", Utils.getPropertyFormat(PROPERTY_NESTED_JAR_CACHE_DIRECTORY)); //$NON-NLS-1$
+					script.printElement("eclipse.extractNestedJar", arguments); //$NON-NLS-1$
+				} else {
+					script.printMkdirTask(destDir);
+					script.printUnzipTask(element.getPath(), destDir, false, element.getSubPath(), null);
+				}
 				extracted.add(destDir + '/' + element.getSubPath());
 			}
 		}
@@ -1494,6 +1539,10 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		script.printMkdirTask(destdir);
 		script.printPathStructure("path", name + PROPERTY_CLASSPATH, extractedPath); //$NON-NLS-1$
 
+		//The jars and the extraction of the nested jars are left to the script
+		if (compilation != null && (entry.getType() != CompiledEntry.FOLDER || !Objects.equals(extractedPath, classpath)))
+			compilation = null;
+
 		String[] sources = entry.getSource();
 		Map<String, String> params = null, references = null;
 		if (customBuildCallbacks != null) {
@@ -1509,6 +1558,8 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		}
 
 		FileSet[] workspaceFiles = null;
+		JavacTask javac = null;
+		boolean cacheOutput = false;
 		String outputKey = name.equals(EXPANDED_DOT) ? DOT : name;
 		if (workspaceOutputFolders != null && workspaceOutputFolders.containsKey(outputKey)) {
 			// this is a no-op when using p2Gathering on folders GatherBundleTask will collect the class files from where they are.
@@ -1529,8 +1580,12 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 				}
 			}
 		} else {
+			//The custom callbacks can have side effects, the output of the bundles using them is never cached
+			cacheOutput = getPropertyAsBoolean(PROPERTY_COMPILE_CACHE) && customBuildCallbacks == null;
+			if (cacheOutput)
+				generateCompileCacheStart(entry, destdir);
 			script.printComment("compile the source code"); //$NON-NLS-1$
-			JavacTask javac = new JavacTask();
+			javac = new JavacTask();
 			javac.setClasspathId(name + PROPERTY_CLASSPATH);
 			String[] executionEnvironments = model.getExecutionEnvironments();
 			boolean isModular = false;
@@ -1579,22 +1634,31 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 
 		script.printComment("Copy necessary resources"); //$NON-NLS-1$
 		FileSet[] fileSets = new FileSet[sources.length];
+		String excludes = getFormattedSourceFileExtensions();
+		if (excludes.length() > 0) {
+			excludes += ", **/package.htm*"; //$NON-NLS-1$
+		} else {
+			excludes = "**/package.htm*"; //$NON-NLS-1$
+		}
+		String excludedFromJar = entry.getExcludedFromJar();
+		if (excludedFromJar != null)
+			excludes += ',' + excludedFromJar;
 		for (int i = 0; i < sources.length; i++) {
-			String excludes = getFormattedSourceFileExtensions();
-			if (excludes.length() > 0) {
-				excludes += ", **/package.htm*"; //$NON-NLS-1$
-			} else {
-				excludes = "**/package.htm*"; //$NON-NLS-1$
-			}
-			String excludedFromJar = entry.getExcludedFromJar();
-			if (excludedFromJar != null)
-				excludes += ',' + excludedFromJar;
-
 			fileSets[i] = new FileSet(sources[i], null, null, null, excludes, null, null);
 		}
 
 		script.printCopyTask(null, destdir, fileSets, true, false);
 
+		if (javac == null)
+			compilation = null;
+		if (compilation != null) {
+			BundleCompilation.Entry compiledEntry = new BundleCompilation.Entry(name, javac);
+			compiledEntry.setAvailable(replaceVariables(getJARLocation(name), true));
+			compiledEntry.setClasspath(extractedPath);
+			compiledEntry.setResourceExcludes(excludes);
+			compilation.addEntry(compiledEntry);
+		}
+
 		if (customBuildCallbacks != null) {
 			script.printSubantTask(Utils.getPropertyFormat(PROPERTY_CUSTOM_BUILD_CALLBACKS), PROPERTY_POST_COMPILE + name, customCallbacksBuildpath, customCallbacksFailOnError, customCallbacksInheritAll, params, references);
 		}
@@ -1609,6 +1673,11 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 			script.printDeleteTask(destdir, null, null);
 		}
 
+		if (cacheOutput) {
+			script.decrementIdent();
+			script.printEndTag("eclipse.compileCache"); //$NON-NLS-1$
+		}
+
 		if (customBuildCallbacks != null) {
 			params.clear();
 			params.put(PROPERTY_JAR_LOCATION, jarLocation);
@@ -1617,6 +1686,36 @@ public class ModelBuildScriptGenerator extends AbstractBuildScriptGenerator {
 		script.printTargetEnd();
 	}
 
+	/*
+	 * Open the task restoring the output of the entry from the compile cache. The compilation, the copy of the
+	 * resources and the jar are nested in it and only run when the output is not in the cache.
+	 */
+	private void generateCompileCacheStart(CompiledEntry entry, String destdir) {
+		String name = entry.getName(false);
+		String compilerName = name.equals(EXPANDED_DOT) ? DOT : name;
+		String basedir = Utils.getPropertyFormat(PROPERTY_BASEDIR);
+
+		StringBuffer inputs = new StringBuffer();
+		for (String source : entry.getSource()) {
+			inputs.append(source).append(',');
+		}
+		inputs.append(basedir).append("/.settings,"); //$NON-NLS-1$
+		inputs.append(basedir).append("/javaCompiler.").append(compilerName.replaceAll("[\\\\/]", "_")).append(".args"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		if (warningProperties != null)
+			inputs.append(',').append(basedir).append('/').append(warningProperties);
+
+		Map<String, String> arguments = new LinkedHashMap<>();
+		arguments.put("cache", Utils.getPropertyFormat(PROPERTY_COMPILE_CACHE_DIRECTORY)); //$NON-NLS-1$
+		arguments.put("output", getJARLocation(entry.getName(true))); //$NON-NLS-1$
+		arguments.put("classpathRef", name + PROPERTY_CLASSPATH); //$NON-NLS-1$
+		arguments.put("inputs", inputs.toString()); //$NON-NLS-1$
+		arguments.put("log", destdir + Utils.getPropertyFormat(PROPERTY_LOG_EXTENSION)); //$NON-NLS-1$
+		if (generateErrorPropertyAttribute)
+			arguments.put("errorProperty", PROPERTY_COMPILATION_ERROR); //$NON-NLS-1$
+		script.printStartTag("eclipse.compileCache", arguments); //$NON-NLS-1$
+		script.incrementIdent();
+	}
+
 	/*
 	 * The "errorProperty" attribute on the javac task requires ant 1.7.1 or greater
 	 */
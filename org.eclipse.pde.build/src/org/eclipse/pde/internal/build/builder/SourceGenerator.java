@@ -17,6 +17,7 @@ package org.eclipse.pde.internal.build.builder;
 import java.io.*;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.jar.Attributes;
 import java.util.jar.Attributes.Name;
 import java.util.jar.Manifest;
@@ -31,8 +32,6 @@ import org.eclipse.pde.internal.build.site.*;
 import org.osgi.framework.Version;
 
 public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesConstants {
-	private static final String COMMENT_START_TAG = "<!--"; //$NON-NLS-1$
-	private static final String COMMENT_END_TAG = "-->"; //$NON-NLS-1$
 	private static final String FEATURE_START_TAG = "<feature";//$NON-NLS-1$
 	private static final String VERSION = "version";//$NON-NLS-1$
 	private static final String TEMPLATE = "data"; //$NON-NLS-1$
@@ -47,6 +46,17 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 	private String[] extraEntries;
 	private Map<String, List<Version>> excludedEntries;
 
+	//A source bundle to generate for a bundle of the feature
+	private static class SourceBundle {
+		final FeatureEntry sourceEntry;
+		final BundleDescription originalBundle;
+
+		SourceBundle(FeatureEntry sourceEntry, BundleDescription originalBundle) {
+			this.sourceEntry = sourceEntry;
+			this.originalBundle = originalBundle;
+		}
+	}
+
 	public void setSourceFeatureId(String id) {
 		sourceFeatureId = id;
 	}
@@ -150,12 +160,16 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 				brandingPlugin = sourceFeature.getId();
 			}
 
+			//In parallel mode the source bundles are only collected here and written all at once
+			List<SourceBundle> sourceBundles = AbstractScriptGenerator.getPropertyAsBoolean(PROPERTY_PARALLEL_SOURCE_GENERATION) ? new ArrayList<>() : null;
 			FeatureEntry[] plugins = feature.getPluginEntries();
 			for (FeatureEntry plugin2 : plugins) {
 				if (director.selectConfigs(plugin2).size() == 0)
 					continue;
-				createSourceBundle(sourceFeature, plugin2);
+				createSourceBundle(sourceFeature, plugin2, sourceBundles);
 			}
+			if (sourceBundles != null)
+				generateSourcePlugins(sourceBundles);
 		} else {
 			/* one source bundle + platform fragments */
 			sourcePlugin = create30SourcePlugin(sourceFeature);
@@ -396,14 +410,7 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 			return;
 		}
 
-		int startComment = Utils.scan(buffer, 0, COMMENT_START_TAG);
-		int endComment = startComment > -1 ? Utils.scan(buffer, startComment, COMMENT_END_TAG) : -1;
-		int startTag = Utils.scan(buffer, 0, tag);
-		while (startComment != -1 && startTag > startComment && startTag < endComment) {
-			startTag = Utils.scan(buffer, endComment, tag);
-			startComment = Utils.scan(buffer, endComment, COMMENT_START_TAG);
-			endComment = startComment > -1 ? Utils.scan(buffer, startComment, COMMENT_END_TAG) : -1;
-		}
+		int startTag = TextScanner.scanNoComment(buffer, 0, tag, false, false);
 		if (startTag == -1)
 			return;
 		int endTag = Utils.scan(buffer, startTag, ">"); //$NON-NLS-1$
@@ -444,7 +451,7 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 		}
 	}
 
-	private FeatureEntry createSourceBundle(BuildTimeFeature sourceFeature, FeatureEntry pluginEntry) throws CoreException {
+	private FeatureEntry createSourceBundle(BuildTimeFeature sourceFeature, FeatureEntry pluginEntry, List<SourceBundle> sourceBundles) throws CoreException {
 		BundleDescription bundle = getSite().getRegistry().getBundle(pluginEntry.getId(), pluginEntry.getVersion(), true);
 		if (bundle == null) {
 			getSite().missingPlugin(pluginEntry.getId(), pluginEntry.getVersion(), null, true);
@@ -494,7 +501,10 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 
 		sourceFeature.addEntry(sourceEntry);
 
-		generateSourcePlugin(sourceEntry, bundle);
+		if (sourceBundles != null)
+			sourceBundles.add(new SourceBundle(sourceEntry, bundle));
+		else
+			generateSourcePlugin(sourceEntry, bundle);
 
 		return sourceEntry;
 	}
@@ -508,7 +518,56 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 	}
 
 	public void generateSourcePlugin(FeatureEntry sourceEntry, BundleDescription originalBundle) throws CoreException {
-		IPath sourcePluginDirURL = new Path(getWorkingDirectory() + '/' + DEFAULT_PLUGIN_LOCATION + '/' + sourceEntry.getId() + '_' + originalBundle.getVersion());
+		IPath sourcePluginDirURL = writeSourcePlugin(sourceEntry, originalBundle);
+
+		PDEState state = getSite().getRegistry();
+		BundleDescription oldBundle = state.getResolvedBundle(sourceEntry.getId(), sourceEntry.getVersion());
+		if (oldBundle != null)
+			state.getState().removeBundle(oldBundle);
+		state.addBundle(sourcePluginDirURL.toFile());
+
+		director.sourceToGather.addElementEntry(sourceEntry.getId(), originalBundle);
+	}
+
+	/*
+	 * Write the source bundles concurrently, then update the state once for all of them. The state and the
+	 * source to gather are updated in the order of the feature, as when the bundles are generated one at a time.
+	 */
+	private void generateSourcePlugins(List<SourceBundle> sourceBundles) throws CoreException {
+		//A bundle listed several times in the feature is only written once
+		Map<File, SourceBundle> locations = new LinkedHashMap<>();
+		for (SourceBundle sourceBundle : sourceBundles) {
+			locations.putIfAbsent(getSourcePluginLocation(sourceBundle.sourceEntry, sourceBundle.originalBundle).toFile(), sourceBundle);
+		}
+		List<Callable<IPath>> tasks = new ArrayList<>(locations.size());
+		for (SourceBundle sourceBundle : locations.values()) {
+			tasks.add(() -> writeSourcePlugin(sourceBundle.sourceEntry, sourceBundle.originalBundle));
+		}
+		Utils.invokeAll(tasks);
+
+		PDEState state = getSite().getRegistry();
+		for (SourceBundle sourceBundle : locations.values()) {
+			BundleDescription oldBundle = state.getResolvedBundle(sourceBundle.sourceEntry.getId(), sourceBundle.sourceEntry.getVersion());
+			if (oldBundle != null)
+				state.getState().removeBundle(oldBundle);
+		}
+		state.addBundles(locations.keySet());
+
+		for (SourceBundle sourceBundle : sourceBundles) {
+			director.sourceToGather.addElementEntry(sourceBundle.sourceEntry.getId(), sourceBundle.originalBundle);
+		}
+	}
+
+	private IPath getSourcePluginLocation(FeatureEntry sourceEntry, BundleDescription originalBundle) {
+		return new Path(getWorkingDirectory() + '/' + DEFAULT_PLUGIN_LOCATION + '/' + sourceEntry.getId() + '_' + originalBundle.getVersion());
+	}
+
+	/*
+	 * Write the manifest, the localization, the build.properties and the template files of the source bundle.
+	 * This does not touch the state nor the director so source bundles can be written concurrently.
+	 */
+	private IPath writeSourcePlugin(FeatureEntry sourceEntry, BundleDescription originalBundle) throws CoreException {
+		IPath sourcePluginDirURL = getSourcePluginLocation(sourceEntry, originalBundle);
 
 		Manifest manifest = new Manifest();
 		Attributes attributes = manifest.getMainAttributes();
@@ -618,14 +677,7 @@ public class SourceGenerator implements IPDEBuildConstants, IBuildPropertiesCons
 		// if this source bundle  will be the branding plug-in for the source feature, use the old plug-in template directory
 		String template = sourceEntry.getId().equals(brandingPlugin) ? "sourceTemplatePlugin" : "sourceTemplateBundle"; //$NON-NLS-1$ //$NON-NLS-2$
 		generateSourceFiles(sourcePluginDirURL, sourceEntry, template, localizationEntry, originalBundle);
-
-		PDEState state = getSite().getRegistry();
-		BundleDescription oldBundle = state.getResolvedBundle(sourceEntry.getId(), sourceEntry.getVersion());
-		if (oldBundle != null)
-			state.getState().removeBundle(oldBundle);
-		state.addBundle(sourcePluginDirURL.toFile());
-
-		director.sourceToGather.addElementEntry(sourceEntry.getId(), originalBundle);
+		return sourcePluginDirURL;
 	}
 
 	private FeatureEntry create30SourcePlugin(BuildTimeFeature sourceFeature) throws CoreException {
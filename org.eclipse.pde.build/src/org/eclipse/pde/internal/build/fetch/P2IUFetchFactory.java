@@ -197,6 +197,66 @@ public class P2IUFetchFactory implements IFetchFactory {
 		script.printEndTag("move"); //$NON-NLS-1$
 	}
 
+	/**
+	 * Generate the retrieval of the given files for several features at once, in the same script. Each feature
+	 * is fetched with the repo2runnable task in its own sub folder of the temporary location, the name of the
+	 * folder created for a feature is not known as the version of the feature may not be given. The requested
+	 * files of each feature are then moved to its destination.
+	 * 
+	 * @param entries the map file information of the features
+	 * @param destinations the destination of each feature
+	 * @param files the files to retrieve
+	 * @param tempLocation the folder where the features are fetched
+	 * @param script the script to write to
+	 */
+	public void generateRetrieveFilesCalls(List<Map<String, Object>> entries, List<IPath> destinations, String[] files, IPath tempLocation, IAntScript script) {
+		Map<String, String> args = new LinkedHashMap<>();
+		for (int i = 0; i < entries.size(); i++) {
+			Map<String, Object> entryInfos = entries.get(i);
+			IPath destination = destinations.get(i);
+			IPath featureLocation = tempLocation.append(Integer.toString(i));
+
+			args.clear();
+			args.put(ATTRIBUTE_SOURCE, (String) entryInfos.get(KEY_REPOSITORY));
+			args.put(ATTRIBUTE_DESTINATION, featureLocation.toOSString());
+			script.printStartTag(TASK_REPO2RUNNABLE, args);
+			script.incrementIdent();
+			args.clear();
+			args.put(ATTRIBUTE_ID, (String) entryInfos.get(KEY_ID));
+			args.put(ATTRIBUTE_VERSION, (String) entryInfos.get(KEY_VERSION));
+			script.printElement(TASK_IU, args);
+			script.decrementIdent();
+			script.printEndTag(TASK_REPO2RUNNABLE);
+			script.println();
+
+			//create a dummy build.properties file which will be overwritten if the feature actually contains one
+			args.clear();
+			args.put("message", "#empty"); //$NON-NLS-1$ //$NON-NLS-2$
+			args.put("file", new File(destination.toFile(), "build.properties").getAbsolutePath()); //$NON-NLS-1$//$NON-NLS-2$
+			script.printElement("echo", args); //$NON-NLS-1$
+
+			//move the files of this feature to its destination
+			args.clear();
+			args.put("todir", destination.toOSString()); //$NON-NLS-1$
+			args.put("flatten", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+			script.printStartTag("move", args); //$NON-NLS-1$
+			script.incrementIdent();
+			args.clear();
+			args.put("dir", featureLocation.toOSString()); //$NON-NLS-1$
+			for (String file : files) {
+				args.put("includes", "features/*/" + file); //$NON-NLS-1$ //$NON-NLS-2$
+				script.printElement("fileset", args); //$NON-NLS-1$
+			}
+			script.decrementIdent();
+			script.printEndTag("move"); //$NON-NLS-1$
+		}
+
+		args.clear();
+		args.put("dir", tempLocation.toOSString()); //$NON-NLS-1$
+		args.put("quiet", "true"); //$NON-NLS-1$ //$NON-NLS-2$
+		script.printElement("delete", args); //$NON-NLS-1$
+	}
+
 	@Override
 	public void parseMapFileEntry(String rawEntry, Properties overrideTags, Map<String, Object> entryInfos) throws CoreException {
 		String[] arguments = Utils.getArrayFromStringWithBlank(rawEntry, SEPARATOR);
@@ -52,7 +52,7 @@ public class BuildTimeFeatureFactory /*extends BaseFeatureFactory */implements /
 			URL featureURL = new URL(url, BuildTimeFeature.FEATURE_XML);
 			feature = parseBuildFeature(featureURL);
 
-			String qualifier = AbstractScriptGenerator.readProperties(new Path(url.getFile()).removeLastSegments(1).toOSString(), PROPERTIES_FILE, IStatus.OK).getProperty(PROPERTY_QUALIFIER);
+			String qualifier = AbstractScriptGenerator.readCachedProperties(new Path(url.getFile()).removeLastSegments(1).toOSString(), PROPERTIES_FILE, IStatus.OK).getProperty(PROPERTY_QUALIFIER);
 			String newVersion = QualifierReplacer.replaceQualifierInVersion(feature.getVersion(), feature.getId(), qualifier, site != null ? site.getFeatureVersions() : null);
 			if (newVersion != null) {
 				//a feature version ending in qualifier using context will be further modified based on its included plugins				
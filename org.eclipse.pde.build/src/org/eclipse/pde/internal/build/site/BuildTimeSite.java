@@ -17,6 +17,7 @@ import java.io.*;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
 import org.eclipse.core.runtime.*;
 import org.eclipse.equinox.p2.publisher.eclipse.Feature;
 import org.eclipse.equinox.p2.publisher.eclipse.FeatureEntry;
@@ -35,11 +36,17 @@ import org.osgi.framework.Version;
  */
 public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLConstants {
 	private final BuildTimeFeatureFactory factory = new BuildTimeFeatureFactory();
-	private final Map<String, Set<BuildTimeFeature>> featureCache = new HashMap<>();
+	//The features of each id, keyed by their version
+	private final Map<String, NavigableMap<Version, BuildTimeFeature>> featureCache = new HashMap<>();
 	private final Map<URL, BuildTimeFeature> featureURLCache = new HashMap<>();
 	private List<FeatureReference> featureReferences;
 	private BuildTimeSiteContentProvider contentProvider;
 	private boolean featuresResolved = false;
+	//The indexed features that are only parsed when a feature with their id is looked up
+	private final Map<String, List<FeatureReference>> deferredFeatures = new HashMap<>();
+	//The position of the feature references, the first reference to a feature id and version takes precedence
+	private final Map<URL, Integer> referencePositions = new HashMap<>();
+	private FeatureIndex featureIndex;
 
 	private PDEState state;
 	private Properties repositoryVersions; //version for the features
@@ -52,12 +59,6 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 	private List<String> rootPluginsForFiler;
 	private boolean filter = false;
 
-	private final Comparator<Feature> featureComparator = (arg0, arg1) -> {
-		Version v0 = new Version(arg0.getVersion());
-		Version v1 = new Version(arg1.getVersion());
-		return -1 * v0.compareTo(v1);
-	};
-
 	public void setReportResolutionErrors(boolean value) {
 		reportResolutionErrors = value;
 	}
@@ -110,7 +111,9 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 				state = new PDEState(provider.getInitialState());
 				state.setEESources(eeSources);
 				state.setPlatformProperties(getUIPlatformProperties());
-				state.resolveState();
+				try (BuildMetrics.Phase phase = BuildMetrics.start("stateResolve", null)) { //$NON-NLS-1$
+					state.resolveState();
+				}
 				return state;
 			}
 
@@ -124,14 +127,31 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 				state.setPlatformProperties(platformProperties);
 
 			Collection<File> bundles = removeDuplicates(provider.getPluginPaths());
-			state.addBundles(bundles);
 			state.setEESources(eeSources);
 
-			//Once all the elements have been added to the state, the filter is removed to allow for the generated plug-ins to be added
-			if (state instanceof FilteringState) {
-				((FilteringState) state).setFilter(null);
+			//The content of a filtered state depends on the features being built, it is never saved
+			File snapshotLocation = null;
+			String fingerprint = null;
+			if (!filter && AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_STATE_SNAPSHOT) && AbstractScriptGenerator.getWorkingDirectory() != null) {
+				snapshotLocation = new File(AbstractScriptGenerator.getWorkingDirectory(), DEFAULT_STATE_SNAPSHOT_LOCATION);
+				fingerprint = StateSnapshot.computeFingerprint(platformProperties, eeSources);
+			}
+
+			if (snapshotLocation == null || !state.restoreSnapshot(snapshotLocation, fingerprint, bundles)) {
+				try (BuildMetrics.Phase phase = BuildMetrics.start("bundleLoading", null)) { //$NON-NLS-1$
+					state.addBundles(bundles);
+				}
+
+				//Once all the elements have been added to the state, the filter is removed to allow for the generated plug-ins to be added
+				if (state instanceof FilteringState) {
+					((FilteringState) state).setFilter(null);
+				}
+				try (BuildMetrics.Phase phase = BuildMetrics.start("stateResolve", null)) { //$NON-NLS-1$
+					state.resolveState();
+				}
+				if (snapshotLocation != null)
+					state.saveSnapshot(snapshotLocation, fingerprint, bundles);
 			}
-			state.resolveState();
 			BundleDescription[] allBundles = state.getState().getBundles();
 			BundleDescription[] resolvedBundles = state.getState().getResolvedBundles();
 			if (allBundles.length == resolvedBundles.length)
@@ -275,16 +295,21 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 
 		if (!featuresResolved)
 			resolveFeatureReferences();
-
-		if (featureCache.containsKey(featureId)) {
-			//Set is ordered highest version to lowest, return the first that matches the range
-			Set<BuildTimeFeature> featureSet = featureCache.get(featureId);
-			for (BuildTimeFeature feature : featureSet) {
-				Version featureVersion = new Version(feature.getVersion());
-				if (range.isIncluded(featureVersion)) {
-					return feature;
-				}
-			}
+		List<FeatureReference> deferred = deferredFeatures.remove(featureId);
+		if (deferred != null)
+			resolveFeatureReferences(deferred.toArray(new FeatureReference[deferred.size()]));
+
+		NavigableMap<Version, BuildTimeFeature> versions = featureCache.get(featureId);
+		if (versions != null) {
+			//The highest version below the maximum of the range is the only candidate
+			Version maximum = range.getMaximum();
+			Map.Entry<Version, BuildTimeFeature> candidate;
+			if (maximum == null)
+				candidate = versions.lastEntry();
+			else
+				candidate = range.getIncludeMaximum() ? versions.floorEntry(maximum) : versions.lowerEntry(maximum);
+			if (candidate != null && range.isIncluded(candidate.getKey()))
+				return candidate.getValue();
 		}
 
 		if (throwsException) {
@@ -301,8 +326,39 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 
 	private void resolveFeatureReferences() {
 		FeatureReference[] features = getFeatureReferences();
+		deferredFeatures.clear();
+		//The deferred features are parsed after the others, they must still win over the references that follow them
+		referencePositions.clear();
+		for (int i = 0; i < features.length; i++) {
+			URL url = features[i].getURL();
+			if (url != null)
+				referencePositions.putIfAbsent(url, Integer.valueOf(i));
+		}
+		FeatureIndex index = getFeatureIndex();
+		if (index != null)
+			features = deferIndexedFeatures(features, index);
+		resolveFeatureReferences(features);
+		if (index != null) {
+			for (FeatureReference feature : features) {
+				BuildTimeFeature parsed = featureURLCache.get(feature.getURL());
+				File featureXML = getFeatureXML(feature);
+				if (parsed != null && featureXML != null)
+					index.put(featureXML, parsed.getId());
+			}
+			index.save();
+		}
+		featuresResolved = true;
+	}
+
+	private void resolveFeatureReferences(FeatureReference[] features) {
+		Map<URL, CoreException> failures = Collections.emptyMap();
+		if (features.length > 1 && AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_PARALLEL_FEATURE_PARSING))
+			failures = parseFeatures(features);
 		for (FeatureReference feature2 : features) {
 			try {
+				CoreException failure = failures.get(feature2.getURL());
+				if (failure != null)
+					throw failure;
 				//getting the feature for the first time will result in it being added to featureCache
 				feature2.getFeature();
 			} catch (CoreException e) {
@@ -312,7 +368,85 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 				BundleHelper.getDefault().getLog().log(status);
 			}
 		}
-		featuresResolved = true;
+	}
+
+	private FeatureIndex getFeatureIndex() {
+		String workingDirectory = AbstractScriptGenerator.getWorkingDirectory();
+		if (featureIndex == null && workingDirectory != null && AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_FEATURE_INDEX)) {
+			featureIndex = new FeatureIndex(new File(workingDirectory, DEFAULT_FEATURE_INDEX_FILENAME));
+			featureIndex.load();
+		}
+		return featureIndex;
+	}
+
+	/*
+	 * Put aside the features whose id is known from the index, they are parsed when they are looked up.
+	 * Return the features that have to be parsed now.
+	 */
+	private FeatureReference[] deferIndexedFeatures(FeatureReference[] features, FeatureIndex index) {
+		List<FeatureReference> result = new ArrayList<>(features.length);
+		for (FeatureReference feature : features) {
+			File featureXML = getFeatureXML(feature);
+			String id = (featureXML != null && !featureURLCache.containsKey(feature.getURL())) ? index.get(featureXML) : null;
+			if (id != null)
+				deferredFeatures.computeIfAbsent(id, k -> new ArrayList<>()).add(feature);
+			else
+				result.add(feature);
+		}
+		return result.toArray(new FeatureReference[result.size()]);
+	}
+
+	private static File getFeatureXML(FeatureReference feature) {
+		try {
+			URL url = feature.getURL();
+			return url != null ? new File(new URL(url, BuildTimeFeature.FEATURE_XML).getFile()) : null;
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Parse the features that are not known yet on a pool of threads. The parsed features are added
+	 * to the caches in the order of the references, the failures are returned keyed by feature URL.
+	 */
+	private Map<URL, CoreException> parseFeatures(FeatureReference[] features) {
+		Set<URL> urls = new LinkedHashSet<>();
+		for (FeatureReference feature : features) {
+			URL url = feature.getURL();
+			if (url != null && !featureURLCache.containsKey(url))
+				urls.add(url);
+		}
+
+		//Initialized here since the parsing threads all read it
+		getFeatureVersions();
+		List<Callable<Object>> tasks = new ArrayList<>(urls.size());
+		for (URL url : urls) {
+			tasks.add(() -> {
+				try {
+					return factory.createFeature(url, this);
+				} catch (CoreException e) {
+					return e;
+				}
+			});
+		}
+
+		Map<URL, CoreException> failures = new HashMap<>();
+		List<Object> results;
+		try {
+			results = Utils.invokeAll(tasks);
+		} catch (CoreException e) {
+			//Let the features be parsed one by one
+			return failures;
+		}
+		Iterator<Object> result = results.iterator();
+		for (URL url : urls) {
+			Object parsed = result.next();
+			if (parsed instanceof CoreException)
+				failures.put(url, (CoreException) parsed);
+			else
+				addFeature(url, (BuildTimeFeature) parsed);
+		}
+		return failures;
 	}
 
 	public void addFeatureReferenceModel(File featureXML) {
@@ -372,7 +506,7 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 					rootFeatures.add(nested);
 				else {
 					// missing feature, ok if it will be a generated source feature
-					Properties props = AbstractScriptGenerator.readProperties(toAnalyse.getRootLocation(), PROPERTIES_FILE, IStatus.OK);
+					Properties props = AbstractScriptGenerator.readCachedProperties(toAnalyse.getRootLocation(), PROPERTIES_FILE, IStatus.OK);
 					boolean doSourceFeatureGeneration = props.containsKey(IBuildPropertiesConstants.GENERATION_SOURCE_FEATURE_PREFIX + featureId);
 					if (doSourceFeatureGeneration) {
 						//generate property may add extra plugins or features
@@ -447,19 +581,26 @@ public class BuildTimeSite /*extends Site*/ implements IPDEBuildConstants, IXMLC
 			return feature;
 
 		feature = factory.createFeature(url, this);
+		addFeature(url, feature);
+		return feature;
+	}
+
+	private void addFeature(URL url, BuildTimeFeature feature) {
 		feature.setFeatureContentProvider(getSiteContentProvider());
 		featureURLCache.put(url, feature);
 
-		if (featureCache.containsKey(feature.getId())) {
-			Set<BuildTimeFeature> set = featureCache.get(feature.getId());
-			set.add(feature);
-		} else {
-			TreeSet<BuildTimeFeature> set = new TreeSet<>(featureComparator);
-			set.add(feature);
-			featureCache.put(feature.getId(), set);
-		}
+		//The feature of the first reference is kept for a given version, whatever the order in which the features are parsed
+		NavigableMap<Version, BuildTimeFeature> versions = featureCache.computeIfAbsent(feature.getId(), k -> new TreeMap<>());
+		Version version = new Version(feature.getVersion());
+		BuildTimeFeature previous = versions.get(version);
+		if (previous == null || getReferencePosition(url) < getReferencePosition(previous.getURL()))
+			versions.put(version, feature);
+	}
 
-		return feature;
+	//The features created without a reference come after the referenced ones
+	private int getReferencePosition(URL url) {
+		Integer position = url != null ? referencePositions.get(url) : null;
+		return position != null ? position.intValue() : Integer.MAX_VALUE;
 	}
 
 	public BuildTimeSiteContentProvider getSiteContentProvider() {
@@ -16,6 +16,7 @@ import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.Callable;
 import org.eclipse.core.runtime.*;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.build.Constants;
@@ -61,7 +62,10 @@ public class BuildTimeSiteFactory /*extends BaseSiteFactory*/ implements IPDEBui
 		site = createSiteMapModel();
 
 		// Here we find the features in the URLs
-		Collection<File> featureXMLs = findFeatureXMLs();
+		List<Callable<Collection<File>>> scans = new ArrayList<>();
+		for (String sitePath : sitePaths) {
+			scans.add(() -> findFeatureXMLs(sitePath));
+		}
 
 		// If an installed base is provided we need to look at it
 		String installedBaseURL = null;
@@ -73,18 +77,28 @@ public class BuildTimeSiteFactory /*extends BaseSiteFactory*/ implements IPDEBui
 			}
 
 			installedBaseURL = installedBaseLocation;
-			Collection<File> installedFeatures = Utils.findFiles(new File(installedBaseLocation), DEFAULT_FEATURE_LOCATION, Constants.FEATURE_FILENAME_DESCRIPTOR);
-			if (installedFeatures != null)
-				featureXMLs.addAll(installedFeatures);
+			File installedBase = new File(installedBaseLocation);
+			scans.add(() -> Utils.findFiles(installedBase, DEFAULT_FEATURE_LOCATION, Constants.FEATURE_FILENAME_DESCRIPTOR));
 
 			// extract features from platform.xml
-			File[] featureDirectories = PluginPathFinder.getFeaturePaths(installedBaseURL);
-			for (File element : featureDirectories) {
-				File featureXML = new File(element, Constants.FEATURE_FILENAME_DESCRIPTOR);
-				if (featureXML.exists())
-					featureXMLs.add(featureXML);
-			}
+			String platformBase = installedBaseURL;
+			scans.add(() -> {
+				Collection<File> platformFeatures = new ArrayList<>();
+				File[] featureDirectories = PluginPathFinder.getFeaturePaths(platformBase);
+				for (File element : featureDirectories) {
+					File featureXML = new File(element, Constants.FEATURE_FILENAME_DESCRIPTOR);
+					if (featureXML.exists())
+						platformFeatures.add(featureXML);
+				}
+				return platformFeatures;
+			});
+		}
 
+		// The locations are scanned concurrently, the features are still added in the order of the locations
+		Collection<File> featureXMLs = new ArrayList<>();
+		for (Collection<File> found : scanLocations(scans)) {
+			if (found != null)
+				featureXMLs.addAll(found);
 		}
 
 		URL featureURL;
@@ -153,31 +167,39 @@ public class BuildTimeSiteFactory /*extends BaseSiteFactory*/ implements IPDEBui
 		}
 	}
 
+	private List<Collection<File>> scanLocations(List<Callable<Collection<File>>> scans) throws CoreException {
+		if (scans.size() > 1 && AbstractScriptGenerator.getPropertyAsBoolean(IBuildPropertiesConstants.PROPERTY_PARALLEL_FEATURE_PARSING))
+			return Utils.invokeAll(scans);
+
+		List<Collection<File>> result = new ArrayList<>(scans.size());
+		for (Callable<Collection<File>> scan : scans) {
+			try {
+				result.add(scan.call());
+			} catch (CoreException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new CoreException(new Status(IStatus.ERROR, PI_PDEBUILD, EXCEPTION_READ_DIRECTORY, e.getMessage(), e));
+			}
+		}
+		return result;
+	}
+
 	/**
-	 * Look for the feature.xml files and return a collection of java.io.File objects
+	 * Look for the feature.xml files in the given site path and return a collection of java.io.File objects
 	 * which point to their locations. Only look in directories which are direct descendants
 	 * of the /features directory. (do not do an infinite depth look-up)
 	 */
-	private Collection<File> findFeatureXMLs() {
-		Collection<File> features = new ArrayList<>();
-		Collection<File> foundFeatures = null;
-		for (String sitePath : sitePaths) {
-			File file = new File(sitePath, Constants.FEATURE_FILENAME_DESCRIPTOR);
-			if (file.exists()) {
-				//path is a feature itself
-				features.add(file);
-				continue;
-			} else if (new File(sitePath, DEFAULT_FEATURE_LOCATION).exists()) {
-				//path is a eclipse root and contains a features subdirectory
-				foundFeatures = Utils.findFiles(new File(sitePath), DEFAULT_FEATURE_LOCATION, Constants.FEATURE_FILENAME_DESCRIPTOR);
-			} else {
-				// treat as a flat directory containing features
-				foundFeatures = Utils.findFiles(new File(sitePath), ".", Constants.FEATURE_FILENAME_DESCRIPTOR); //$NON-NLS-1$
-			}
-			if (foundFeatures != null)
-				features.addAll(foundFeatures);
+	private static Collection<File> findFeatureXMLs(String sitePath) {
+		File file = new File(sitePath, Constants.FEATURE_FILENAME_DESCRIPTOR);
+		if (file.exists()) {
+			//path is a feature itself
+			return Collections.singletonList(file);
+		} else if (new File(sitePath, DEFAULT_FEATURE_LOCATION).exists()) {
+			//path is a eclipse root and contains a features subdirectory
+			return Utils.findFiles(new File(sitePath), DEFAULT_FEATURE_LOCATION, Constants.FEATURE_FILENAME_DESCRIPTOR);
 		}
-		return features;
+		// treat as a flat directory containing features
+		return Utils.findFiles(new File(sitePath), ".", Constants.FEATURE_FILENAME_DESCRIPTOR); //$NON-NLS-1$
 	}
 
 	public void setReportResolutionErrors(boolean value) {
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.site;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A persistent index of the identifiers of the features found on a site. An entry is keyed by the
+ * canonical path of the feature.xml file and is only reused if the length and the last modification
+ * time of the file did not change since the entry was recorded.
+ * <p>
+ * The index lets the site parse a feature only when a feature with its identifier is looked up.
+ * Only the entries that have been used during the current build are written back.
+ * </p>
+ */
+public class FeatureIndex {
+	private static final int MAGIC = 0x50444546; //PDEF
+	private static final int FORMAT_VERSION = 1;
+
+	private static class Entry {
+		final long length;
+		final long lastModified;
+		final String id;
+
+		Entry(long length, long lastModified, String id) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.id = id;
+		}
+	}
+
+	private final File indexFile;
+	private Map<String, Entry> previous = new HashMap<>();
+	private final Map<String, Entry> current = new HashMap<>();
+	private boolean modified = false;
+
+	public FeatureIndex(File indexFile) {
+		this.indexFile = indexFile;
+	}
+
+	/**
+	 * Return the identifier of the given feature, or <code>null</code> if the feature is not in the index
+	 * or changed since it has been indexed.
+	 */
+	public String get(File featureXML) {
+		String key = getKey(featureXML);
+		Entry entry = current.get(key);
+		if (entry == null)
+			entry = previous.get(key);
+		if (entry == null || entry.length != featureXML.length() || entry.lastModified != featureXML.lastModified())
+			return null;
+
+		current.put(key, entry);
+		return entry.id;
+	}
+
+	public void put(File featureXML, String id) {
+		String key = getKey(featureXML);
+		Entry entry = current.get(key);
+		if (entry != null && entry.id.equals(id) && entry.length == featureXML.length() && entry.lastModified == featureXML.lastModified())
+			return;
+		current.put(key, new Entry(featureXML.length(), featureXML.lastModified(), id));
+		modified = true;
+	}
+
+	public void load() {
+		previous = new HashMap<>();
+		if (!indexFile.isFile())
+			return;
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+			if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+				return;
+			int count = input.readInt();
+			Map<String, Entry> entries = new HashMap<>(count);
+			for (int i = 0; i < count; i++) {
+				String key = readString(input);
+				long length = input.readLong();
+				long lastModified = input.readLong();
+				entries.put(key, new Entry(length, lastModified, readString(input)));
+			}
+			previous = entries;
+		} catch (IOException e) {
+			//Ignore, a corrupted index is treated as an empty one
+		}
+	}
+
+	public void save() {
+		if (!modified && current.size() == previous.size())
+			return;
+
+		File parent = indexFile.getParentFile();
+		if (parent != null && !parent.exists())
+			parent.mkdirs();
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			output.writeInt(current.size());
+			for (Map.Entry<String, Entry> mapEntry : current.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				writeString(output, mapEntry.getKey());
+				output.writeLong(entry.length);
+				output.writeLong(entry.lastModified);
+				writeString(output, entry.id);
+			}
+			modified = false;
+		} catch (IOException e) {
+			//Ignore, the index will be rebuilt next time
+			indexFile.delete();
+		}
+	}
+
+	private static String getKey(File featureXML) {
+		try {
+			return featureXML.getCanonicalPath();
+		} catch (IOException e) {
+			return featureXML.getAbsolutePath();
+		}
+	}
+
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
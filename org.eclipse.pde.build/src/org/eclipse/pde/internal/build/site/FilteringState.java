@@ -13,8 +13,10 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.build.site;
 
+import java.io.File;
 import java.util.SortedSet;
 import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.osgi.framework.Version;
 
 public class FilteringState extends PDEState {
 	SortedSet<ReachablePlugin> allPlugins;
@@ -23,16 +25,50 @@ public class FilteringState extends PDEState {
 		allPlugins = filter;
 	}
 
+	/*
+	 * Reject the bundles that can not be reachable before their manifest is parsed. The version is
+	 * only checked when it does not contain a qualifier to be replaced, the descriptions created for
+	 * the other bundles are checked again in addBundleDescription.
+	 */
+	@Override
+	protected boolean acceptBundle(File bundleLocation) {
+		if (allPlugins == null)
+			return true;
+
+		String[] identity = getBundleIdentity(bundleLocation);
+		if (identity == null)
+			return true;
+
+		Version version = null;
+		if (identity[1] == null) {
+			version = Version.emptyVersion;
+		} else if (!identity[1].endsWith(PROPERTY_QUALIFIER)) {
+			try {
+				version = Version.parseVersion(identity[1]);
+			} catch (IllegalArgumentException e) {
+				//only check the symbolic name
+			}
+		}
+		return isReachable(identity[0], version);
+	}
+
 	@Override
 	public boolean addBundleDescription(BundleDescription toAdd) {
 		if (allPlugins == null) {
 			return super.addBundleDescription(toAdd);
 		}
 
-		SortedSet<ReachablePlugin> includedMatches = allPlugins.subSet(new ReachablePlugin(toAdd.getSymbolicName(), ReachablePlugin.WIDEST_RANGE), new ReachablePlugin(toAdd.getSymbolicName(), ReachablePlugin.NARROWEST_RANGE));
+		if (isReachable(toAdd.getSymbolicName(), toAdd.getVersion()))
+			return super.addBundleDescription(toAdd);
+		return false;
+	}
+
+	//When the version is null, only check that a bundle with the given symbolic name is reachable
+	private boolean isReachable(String symbolicName, Version version) {
+		SortedSet<ReachablePlugin> includedMatches = allPlugins.subSet(new ReachablePlugin(symbolicName, ReachablePlugin.WIDEST_RANGE), new ReachablePlugin(symbolicName, ReachablePlugin.NARROWEST_RANGE));
 		for (ReachablePlugin constraint : includedMatches) {
-			if (constraint.getRange().isIncluded(toAdd.getVersion()))
-				return super.addBundleDescription(toAdd);
+			if (version == null || constraint.getRange().isIncluded(version))
+				return true;
 		}
 		return false;
 	}
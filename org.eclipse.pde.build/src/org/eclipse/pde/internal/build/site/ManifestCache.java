@@ -0,0 +1,177 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.site;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.jar.JarFile;
+
+/**
+ * A persistent cache of the parsed bundle manifests. An entry is keyed by the canonical path of the
+ * bundle and is only reused if the length and the last modification time of the file holding the
+ * manifest (the jar or the META-INF/MANIFEST.MF file) did not change since the entry was recorded.
+ * <p>
+ * The cache is stored as a binary file, only the entries that have been used during the current
+ * build are written back. The methods of this class are safe to be called concurrently.
+ * </p>
+ */
+public class ManifestCache {
+	private static final int MAGIC = 0x50444543; //PDEC
+	private static final int FORMAT_VERSION = 1;
+
+	private static class Entry {
+		final long length;
+		final long lastModified;
+		final Map<String, String> headers;
+
+		Entry(long length, long lastModified, Map<String, String> headers) {
+			this.length = length;
+			this.lastModified = lastModified;
+			this.headers = headers;
+		}
+	}
+
+	private final File cacheFile;
+	private Map<String, Entry> previous = new HashMap<>();
+	private final Map<String, Entry> current = new HashMap<>();
+	private boolean modified = false;
+
+	public ManifestCache(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Return a copy of the cached manifest of the given bundle, or <code>null</code> if the
+	 * bundle is not in the cache or changed since it has been cached.
+	 */
+	public Dictionary<String, String> get(File bundleLocation) {
+		File manifestFile = getManifestFile(bundleLocation);
+		String key = getKey(bundleLocation);
+		Entry entry;
+		synchronized (this) {
+			entry = current.get(key);
+			if (entry == null)
+				entry = previous.get(key);
+		}
+		if (entry == null || entry.length != manifestFile.length() || entry.lastModified != manifestFile.lastModified())
+			return null;
+
+		synchronized (this) {
+			current.put(key, entry);
+		}
+		return new Hashtable<>(entry.headers);
+	}
+
+	/**
+	 * Record the manifest of the given bundle. The manifest is copied, so the caller is free to modify it afterward.
+	 */
+	public void put(File bundleLocation, Dictionary<String, String> manifest) {
+		File manifestFile = getManifestFile(bundleLocation);
+		Map<String, String> headers = new HashMap<>(manifest.size());
+		for (Enumeration<String> keys = manifest.keys(); keys.hasMoreElements();) {
+			String header = keys.nextElement();
+			headers.put(header, manifest.get(header));
+		}
+		Entry entry = new Entry(manifestFile.length(), manifestFile.lastModified(), headers);
+		String key = getKey(bundleLocation);
+		synchronized (this) {
+			current.put(key, entry);
+			modified = true;
+		}
+	}
+
+	public synchronized void load() {
+		previous = new HashMap<>();
+		if (!cacheFile.isFile())
+			return;
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION)
+				return;
+			int count = input.readInt();
+			Map<String, Entry> entries = new HashMap<>(count);
+			for (int i = 0; i < count; i++) {
+				String key = readString(input);
+				long length = input.readLong();
+				long lastModified = input.readLong();
+				int headerCount = input.readInt();
+				Map<String, String> headers = new HashMap<>(headerCount);
+				for (int j = 0; j < headerCount; j++) {
+					headers.put(readString(input), readString(input));
+				}
+				entries.put(key, new Entry(length, lastModified, headers));
+			}
+			previous = entries;
+		} catch (IOException e) {
+			//Ignore, a corrupted cache is treated as an empty one
+		}
+	}
+
+	public synchronized void save() {
+		if (!modified && current.size() == previous.size())
+			return;
+
+		File parent = cacheFile.getParentFile();
+		if (parent != null && !parent.exists())
+			parent.mkdirs();
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+			output.writeInt(MAGIC);
+			output.writeInt(FORMAT_VERSION);
+			output.writeInt(current.size());
+			for (Map.Entry<String, Entry> mapEntry : current.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				writeString(output, mapEntry.getKey());
+				output.writeLong(entry.length);
+				output.writeLong(entry.lastModified);
+				output.writeInt(entry.headers.size());
+				for (Map.Entry<String, String> header : entry.headers.entrySet()) {
+					writeString(output, header.getKey());
+					writeString(output, header.getValue());
+				}
+			}
+			modified = false;
+		} catch (IOException e) {
+			//Ignore, the cache will be rebuilt next time
+			cacheFile.delete();
+		}
+	}
+
+	private static File getManifestFile(File bundleLocation) {
+		if (bundleLocation.isFile())
+			return bundleLocation;
+		return new File(bundleLocation, JarFile.MANIFEST_NAME);
+	}
+
+	private static String getKey(File bundleLocation) {
+		try {
+			return bundleLocation.getCanonicalPath();
+		} catch (IOException e) {
+			return bundleLocation.getAbsolutePath();
+		}
+	}
+
+	//DataOutputStream#writeUTF is limited to 64k, which some Export-Package headers exceed
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
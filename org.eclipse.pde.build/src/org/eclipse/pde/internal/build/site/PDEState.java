@@ -16,7 +16,9 @@ package org.eclipse.pde.internal.build.site;
 import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -47,6 +49,8 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	private final Set<Dictionary<String, String>> convertedManifests;
 	private long lastSortingDate = 0L;
 	private String[] eeSources;
+	private ManifestCache manifestCache;
+	private boolean qualifiersReplaced = false;
 
 	protected long getNextId() {
 		return ++id;
@@ -74,6 +78,7 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 		convertedManifests = new HashSet<>(2);
 		loadPluginTagFile();
 		loadSourceReferences();
+		loadManifestCache();
 	}
 
 	public StateObjectFactory getFactory() {
@@ -205,18 +210,113 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 		}
 	}
 
+	private void loadManifestCache() {
+		String workingDirectory = AbstractScriptGenerator.getWorkingDirectory();
+		if (workingDirectory == null || !AbstractScriptGenerator.getPropertyAsBoolean(PROPERTY_MANIFEST_CACHE))
+			return;
+		manifestCache = new ManifestCache(new File(workingDirectory, DEFAULT_MANIFEST_CACHE_FILENAME));
+		manifestCache.load();
+	}
+
 	public boolean addBundle(File bundleLocation) {
-		Dictionary<String, String> manifest;
-		manifest = loadManifest(bundleLocation);
+		if (!acceptBundle(bundleLocation))
+			return false;
+		Dictionary<String, String> manifest = prepareManifest(bundleLocation);
 		if (manifest == null) {
 			return addFlexibleRoot(bundleLocation);
 		}
+		return addBundle(manifest, bundleLocation);
+	}
+
+	/**
+	 * Return whether the bundle at the given location should be added to the state. This is called
+	 * before the manifest of the bundle is parsed, subclasses can use {@link #getBundleIdentity(File)}
+	 * to reject bundles cheaply.
+	 */
+	protected boolean acceptBundle(File bundleLocation) {
+		return true;
+	}
+
+	/**
+	 * Return the symbolic name and the version of the given bundle as declared in its manifest, or <code>null</code>
+	 * if the bundle has no manifest or no symbolic name. The version is <code>null</code> if the manifest does not
+	 * declare it. Only these two headers are read unless the manifest is already in the manifest cache.
+	 */
+	protected String[] getBundleIdentity(File bundleLocation) {
+		Dictionary<String, String> cached = manifestCache != null ? manifestCache.get(bundleLocation) : null;
+		if (cached != null) {
+			String symbolicName = BundleHelper.getManifestHeader(cached, Constants.BUNDLE_SYMBOLICNAME);
+			return symbolicName == null ? null : new String[] {getSymbolicNameValue(symbolicName), BundleHelper.getManifestHeader(cached, Constants.BUNDLE_VERSION)};
+		}
+
+		try {
+			if ("jar".equalsIgnoreCase(new Path(bundleLocation.getName()).getFileExtension()) && bundleLocation.isFile()) { //$NON-NLS-1$
+				try (ZipFile jarFile = new ZipFile(bundleLocation, ZipFile.OPEN_READ)) {
+					ZipEntry manifestEntry = jarFile.getEntry(JarFile.MANIFEST_NAME);
+					if (manifestEntry == null)
+						return null;
+					try (InputStream input = jarFile.getInputStream(manifestEntry)) {
+						return scanBundleIdentity(input);
+					}
+				}
+			}
+			File manifestFile = new File(bundleLocation, JarFile.MANIFEST_NAME);
+			if (!manifestFile.isFile())
+				return null;
+			try (InputStream input = new FileInputStream(manifestFile)) {
+				return scanBundleIdentity(input);
+			}
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	//Read the main section of a manifest until both the symbolic name and the version are found
+	private static String[] scanBundleIdentity(InputStream input) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		String symbolicName = null;
+		String version = null;
+		String header = null;
+		StringBuffer value = new StringBuffer();
+		while (symbolicName == null || version == null) {
+			String line = reader.readLine();
+			if (line != null && line.startsWith(" ")) { //$NON-NLS-1$
+				if (header != null)
+					value.append(line.substring(1));
+				continue;
+			}
+			if (Constants.BUNDLE_SYMBOLICNAME.equalsIgnoreCase(header))
+				symbolicName = getSymbolicNameValue(value.toString());
+			else if (Constants.BUNDLE_VERSION.equalsIgnoreCase(header))
+				version = value.toString().trim();
+			if (line == null || line.length() == 0)
+				break;
+
+			int colon = line.indexOf(':');
+			header = colon == -1 ? null : line.substring(0, colon).trim();
+			value.setLength(0);
+			if (colon != -1)
+				value.append(line.substring(colon + 1).trim());
+		}
+		return symbolicName == null ? null : new String[] {symbolicName, version};
+	}
+
+	private static String getSymbolicNameValue(String header) {
+		int index = header.indexOf(';');
+		return (index == -1 ? header : header.substring(0, index)).trim();
+	}
+
+	//Load the manifest of the given bundle and remember its qualifier. This does not touch the state.
+	private Dictionary<String, String> prepareManifest(File bundleLocation) {
+		Dictionary<String, String> manifest = loadManifest(bundleLocation);
+		if (manifest == null)
+			return null;
 		try {
 			hasQualifier(bundleLocation, manifest);
 		} catch (BundleException e) {
 			//should not happen since we know the header
 		}
-		return addBundle(manifest, bundleLocation);
+		return manifest;
 	}
 
 	private boolean addFlexibleRoot(File bundleLocation) {
@@ -224,7 +324,7 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 			return false;
 
 		try {
-			Properties properties = AbstractScriptGenerator.readProperties(bundleLocation.getAbsolutePath(), PDE_CORE_PREFS, IStatus.OK);
+			Properties properties = AbstractScriptGenerator.readCachedProperties(bundleLocation.getAbsolutePath(), PDE_CORE_PREFS, IStatus.OK);
 			String root = properties.getProperty(BUNDLE_ROOT_PATH);
 			if (root != null)
 				return addBundle(new File(bundleLocation, root));
@@ -248,8 +348,11 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 		} catch (BundleException e) {
 			//ignore
 		}
-		if (newVersion != null)
+		if (newVersion != null) {
+			if (!newVersion.equals(oldVersion))
+				qualifiersReplaced = true;
 			manifest.put(Constants.BUNDLE_VERSION, newVersion);
+		}
 		return oldVersion;
 	}
 
@@ -270,7 +373,7 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	private String getQualifierPropery(String bundleLocation) {
 		String qualifierInfo = null;
 		try {
-			qualifierInfo = AbstractScriptGenerator.readProperties(bundleLocation, IPDEBuildConstants.PROPERTIES_FILE, IStatus.INFO).getProperty(PROPERTY_QUALIFIER);
+			qualifierInfo = AbstractScriptGenerator.readCachedProperties(bundleLocation, IPDEBuildConstants.PROPERTIES_FILE, IStatus.INFO).getProperty(PROPERTY_QUALIFIER);
 		} catch (CoreException e) {
 			//ignore
 		}
@@ -342,9 +445,14 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	}
 
 	private Dictionary<String, String> loadManifest(File bundleLocation) {
-		Dictionary<String, String> manifest = basicLoadManifest(bundleLocation);
-		if (manifest == null)
-			return null;
+		Dictionary<String, String> manifest = manifestCache != null ? manifestCache.get(bundleLocation) : null;
+		if (manifest == null) {
+			manifest = basicLoadManifest(bundleLocation);
+			if (manifest == null)
+				return null;
+			if (manifestCache != null)
+				manifestCache.put(bundleLocation, manifest);
+		}
 
 		// require a Bundle-SymbolicName
 		if (!enforceSymbolicName(bundleLocation, manifest))
@@ -355,8 +463,59 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	}
 
 	public void addBundles(Collection<File> bundles) {
+		if (bundles.size() > 1 && AbstractScriptGenerator.getPropertyAsBoolean(PROPERTY_PARALLEL_MANIFEST_LOADING)) {
+			addBundlesInParallel(bundles);
+		} else {
+			for (File bundle : bundles) {
+				addBundle(bundle);
+			}
+		}
+		if (manifestCache != null)
+			manifestCache.save();
+	}
+
+	/*
+	 * The manifests are read and parsed concurrently, but the bundle descriptions are created 
+	 * and added to the state in the order of the given collection so the bundle ids stay the same 
+	 * than with a sequential load.
+	 */
+	private void addBundlesInParallel(Collection<File> bundles) {
+		List<Callable<Dictionary<String, String>>> tasks = new ArrayList<>(bundles.size());
+		boolean[] rejected = new boolean[bundles.size()];
 		for (File bundle : bundles) {
-			addBundle(bundle);
+			int position = tasks.size();
+			tasks.add(() -> {
+				if (!acceptBundle(bundle)) {
+					rejected[position] = true;
+					return null;
+				}
+				return prepareManifest(bundle);
+			});
+		}
+
+		List<Dictionary<String, String>> manifests;
+		try {
+			manifests = Utils.invokeAll(tasks);
+		} catch (CoreException e) {
+			BundleHelper.getDefault().getLog().log(e.getStatus());
+			manifests = null;
+		}
+
+		int i = 0;
+		for (File bundle : bundles) {
+			if (manifests == null) {
+				addBundle(bundle);
+				continue;
+			}
+			if (rejected[i]) {
+				i++;
+				continue;
+			}
+			Dictionary<String, String> manifest = manifests.get(i++);
+			if (manifest == null)
+				addFlexibleRoot(bundle);
+			else
+				addBundle(manifest, bundle);
 		}
 	}
 
@@ -465,6 +624,106 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 		return state;
 	}
 
+	/**
+	 * Replace the content of this state by the snapshot stored at the given location. The bundles added, removed
+	 * or modified since the snapshot has been saved are then applied to the state, and only the part of the state
+	 * affected by the changes is resolved again. The snapshot is updated when the state has been changed.
+	 * @param bundles the bundles the state must contain
+	 * @return <code>true</code> if the snapshot has been restored, <code>false</code> if it is missing or does not match the fingerprint
+	 */
+	public boolean restoreSnapshot(File location, String fingerprint, Collection<File> bundles) {
+		StateSnapshot snapshot = StateSnapshot.read(location, fingerprint, factory);
+		if (snapshot == null)
+			return false;
+
+		state = snapshot.getState();
+		state.setResolver(Platform.getPlatformAdmin().createResolver());
+		factory = state.getFactory();
+		id = snapshot.getNextId();
+		bundleClasspaths = snapshot.getClasspaths();
+		patchBundles = snapshot.getPatchData();
+		qualifiersReplaced = snapshot.isQualifiersReplaced();
+		//The versions of the restored bundles have been computed with this qualifier
+		if (qualifiersReplaced)
+			QualifierReplacer.setGlobalQualifier(snapshot.getGlobalQualifier());
+		for (Map.Entry<Long, Properties> entry : snapshot.getUserObjects().entrySet()) {
+			BundleDescription bundle = state.getBundle(entry.getKey().longValue());
+			if (bundle != null)
+				bundle.setUserObject(entry.getValue());
+		}
+
+		Map<String, String> stamps = StateSnapshot.computeBundleStamps(bundles);
+		if (!stamps.equals(snapshot.getBundleStamps())) {
+			try (BuildMetrics.Phase phase = BuildMetrics.start("stateUpdate", null)) { //$NON-NLS-1$
+				updateBundles(snapshot.getBundleStamps(), stamps, bundles);
+			}
+			saveSnapshot(location, fingerprint, stamps);
+		}
+		return true;
+	}
+
+	/*
+	 * Remove from the state the bundles that are gone or whose stamp changed, add the new and modified
+	 * bundles, and resolve them together with the bundles depending on the bundles removed.
+	 */
+	private void updateBundles(Map<String, String> previousStamps, Map<String, String> stamps, Collection<File> bundles) {
+		Set<String> removed = new HashSet<>(previousStamps.keySet());
+		List<File> added = new ArrayList<>();
+		for (File bundle : bundles) {
+			String path = bundle.getAbsolutePath();
+			if (stamps.get(path).equals(previousStamps.get(path)))
+				removed.remove(path);
+			else
+				added.add(bundle);
+		}
+		for (File bundle : added) {
+			removed.add(bundle.getAbsolutePath());
+		}
+
+		for (BundleDescription bundle : state.getBundles()) {
+			if (!isLocatedIn(bundle.getLocation(), removed))
+				continue;
+			Long bundleId = Long.valueOf(bundle.getBundleId());
+			state.removeBundle(bundle);
+			bundleClasspaths.remove(bundleId);
+			patchBundles.remove(bundleId);
+		}
+
+		addBundles(added);
+		//The platform properties are part of the fingerprint, they are the ones already set on the state
+		state.resolve(true);
+		if (unqualifiedBundles != null)
+			forceQualifiers();
+	}
+
+	//The bundles found under a flexible root are located in a sub folder of the root
+	private static boolean isLocatedIn(String location, Set<String> paths) {
+		if (location == null)
+			return false;
+		for (File file = new File(location); file != null; file = file.getParentFile()) {
+			if (paths.contains(file.getPath()))
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Save the resolved state and the associated data so they can be restored with {@link #restoreSnapshot(File, String, Collection)}
+	 * @param bundles the bundles the state has been built from
+	 */
+	public void saveSnapshot(File location, String fingerprint, Collection<File> bundles) {
+		saveSnapshot(location, fingerprint, StateSnapshot.computeBundleStamps(bundles));
+	}
+
+	private void saveSnapshot(File location, String fingerprint, Map<String, String> bundleStamps) {
+		HashMap<Long, Properties> userObjects = new HashMap<>();
+		for (BundleDescription bundle : state.getBundles()) {
+			if (bundle.getUserObject() instanceof Properties)
+				userObjects.put(Long.valueOf(bundle.getBundleId()), (Properties) bundle.getUserObject());
+		}
+		new StateSnapshot(state, id, bundleClasspaths, patchBundles, userObjects, qualifiersReplaced, bundleStamps).write(location, fingerprint, factory);
+	}
+
 	public BundleDescription[] getDependentBundles(String bundleId, Version version) {
 		BundleDescription root = state.getBundle(bundleId, version);
 		return getDependentBundles(root);
@@ -727,9 +986,9 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 				} else {
 					sources = new String[] {osgi.getAbsolutePath()};
 				}
-				profileManager = new ProfileManager(sources, false);
+				profileManager = ProfileManager.getProfileManager(sources, false);
 			} else {
-				profileManager = new ProfileManager(eeSources, true);
+				profileManager = ProfileManager.getProfileManager(eeSources, true);
 			}
 		}
 		return profileManager;
@@ -32,9 +32,54 @@ public class ProfileManager {
 	public static final String PROFILE_JAVAC_SOURCE = "org.eclipse.jdt.core.compiler.source"; //$NON-NLS-1$
 	public static final String PROFILE_JAVAC_TARGET = "org.eclipse.jdt.core.compiler.codegen.targetPlatform"; //$NON-NLS-1$
 
+	//The managers already loaded in this runtime, by sources, with the stamp of the sources they were loaded from
+	private static final Map<String, Object[]> managers = new HashMap<>();
+
 	private final HashMap<String, Properties> profileMap = new HashMap<>();
 	private String[] profileSources = null;
 
+	/**
+	 * Return a manager for the given sources. The manager loaded by a previous call is returned as long
+	 * as the sources have not changed, the managers are not modified once loaded.
+	 * @param profileSources the folders and jars to load the profiles from
+	 * @param includeRuntime whether to load the profiles of the running framework
+	 * @return a manager for the given sources
+	 */
+	public static ProfileManager getProfileManager(String[] profileSources, boolean includeRuntime) {
+		String key = includeRuntime + (profileSources != null ? Arrays.toString(profileSources) : ""); //$NON-NLS-1$
+		String stamp = getStamp(profileSources);
+		synchronized (managers) {
+			Object[] cached = managers.get(key);
+			if (cached != null && cached[1].equals(stamp))
+				return (ProfileManager) cached[0];
+		}
+		ProfileManager manager = new ProfileManager(profileSources, includeRuntime);
+		synchronized (managers) {
+			managers.put(key, new Object[] {manager, stamp});
+		}
+		return manager;
+	}
+
+	/*
+	 * The sizes and modification times of the given sources, and of the files directly in the folders.
+	 */
+	private static String getStamp(String[] profileSources) {
+		StringBuffer stamp = new StringBuffer();
+		if (profileSources == null)
+			return stamp.toString();
+		for (String element : profileSources) {
+			File source = new File(element);
+			File[] files = source.isDirectory() ? source.listFiles() : new File[] {source};
+			if (files == null)
+				continue;
+			Arrays.sort(files);
+			for (File file : files) {
+				stamp.append(file.getPath()).append(',').append(file.length()).append(',').append(file.lastModified()).append(';');
+			}
+		}
+		return stamp.toString();
+	}
+
 	public ProfileManager() {
 		loadProfiles(true);
 	}
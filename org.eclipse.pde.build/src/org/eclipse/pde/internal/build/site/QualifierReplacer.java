@@ -111,6 +111,14 @@ public class QualifierReplacer implements IBuildPropertiesConstants {
 		return empty + Calendar.getInstance().get(Calendar.YEAR) + month + day + hour + minute;
 	}
 
+	/**
+	 * Returns the global qualifier replacement, or <code>null</code> if the default date qualifier is used.
+	 * @return the global qualifier or <code>null</code>
+	 */
+	public static String getGlobalQualifier() {
+		return globalQualifier;
+	}
+
 	/**
 	 * Sets the global variable used as the qualifier replacement during calls to
 	 * {@link #replaceQualifierInVersion(String, String, String, Properties)}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 IBM Corporation and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *  Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.site;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.jar.JarFile;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.internal.build.*;
+
+/**
+ * A resolved {@link State} saved to disk together with the data PDEState keeps on the side
+ * (bundle classpaths, patch data and the properties attached to each bundle description).
+ * <p>
+ * A snapshot is only reused when its fingerprint matches the fingerprint computed for the
+ * current build, see {@link #computeFingerprint(Properties, String[])}. The stamps of the bundles
+ * it was built from are recorded so the bundles added, removed or modified since can be applied
+ * to the restored state, see {@link #computeBundleStamps(Collection)}.
+ * </p>
+ */
+public class StateSnapshot implements IPDEBuildConstants, IBuildPropertiesConstants {
+	private static final String DATA_FILE = "pdeState.data"; //$NON-NLS-1$
+	private static final String FINGERPRINT_FILE = "fingerprint"; //$NON-NLS-1$
+
+	private State state;
+	private long nextId;
+	private HashMap<Long, String[]> classpaths;
+	private HashMap<Long, String> patchData;
+	private HashMap<Long, Properties> userObjects;
+	private boolean qualifiersReplaced;
+	private String globalQualifier;
+	private HashMap<String, String> bundleStamps;
+
+	public StateSnapshot(State state, long nextId, HashMap<Long, String[]> classpaths, Map<Long, String> patchData, HashMap<Long, Properties> userObjects, boolean qualifiersReplaced, Map<String, String> bundleStamps) {
+		this.state = state;
+		this.nextId = nextId;
+		this.classpaths = classpaths;
+		this.patchData = new HashMap<>(patchData);
+		this.userObjects = userObjects;
+		this.qualifiersReplaced = qualifiersReplaced;
+		this.globalQualifier = QualifierReplacer.getGlobalQualifier();
+		this.bundleStamps = new HashMap<>(bundleStamps);
+	}
+
+	private StateSnapshot() {
+		//used when reading
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public long getNextId() {
+		return nextId;
+	}
+
+	public HashMap<Long, String[]> getClasspaths() {
+		return classpaths;
+	}
+
+	public Map<Long, String> getPatchData() {
+		return patchData;
+	}
+
+	public Map<Long, Properties> getUserObjects() {
+		return userObjects;
+	}
+
+	/**
+	 * Return whether the qualifiers of some bundles of the state have been replaced while their manifest was read.
+	 */
+	public boolean isQualifiersReplaced() {
+		return qualifiersReplaced;
+	}
+
+	/**
+	 * Return the qualifier forced when the state was saved, or <code>null</code>.
+	 */
+	public String getGlobalQualifier() {
+		return globalQualifier;
+	}
+
+	/**
+	 * Return the stamps of the bundles the state was built from, indexed by the absolute path of the bundles.
+	 */
+	public Map<String, String> getBundleStamps() {
+		return bundleStamps;
+	}
+
+	/**
+	 * Compute a fingerprint of everything but the bundles that influences the content of the resolved state: the
+	 * configurations being built, the platform properties, the EE sources, the ant properties given to the generator
+	 * and the version of PDE Build.
+	 */
+	public static String computeFingerprint(Properties platformProperties, String[] eeSources) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+
+		if (BundleHelper.getDefault() != null)
+			update(digest, BundleHelper.getDefault().getBundle().getVersion().toString());
+		for (Config config : AbstractScriptGenerator.getConfigInfos()) {
+			update(digest, config.toString());
+		}
+		update(digest, new TreeMap<>(AbstractScriptGenerator.getImmutableAntProperties()).toString());
+		if (platformProperties != null)
+			update(digest, new TreeMap<>(platformProperties).toString());
+		if (eeSources != null)
+			update(digest, Arrays.toString(eeSources));
+
+		String workingDirectory = AbstractScriptGenerator.getWorkingDirectory();
+		update(digest, new File(workingDirectory, DEFAULT_PLUGIN_REPOTAG_FILENAME_DESCRIPTOR));
+		update(digest, new File(workingDirectory, DEFAULT_SOURCE_REFERENCES_FILENAME_DESCRIPTOR));
+
+		StringBuffer result = new StringBuffer();
+		for (byte b : digest.digest()) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16));
+			result.append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Compute the stamp of each bundle from the size and timestamp of the bundle and, for a folder, of its
+	 * manifest, build.properties and PDE preferences.
+	 * @return the stamps indexed by the absolute path of the bundles
+	 */
+	public static Map<String, String> computeBundleStamps(Collection<File> bundles) {
+		Map<String, String> result = new HashMap<>(bundles.size());
+		for (File bundle : bundles) {
+			StringBuffer stamp = new StringBuffer();
+			appendStamp(stamp, bundle);
+			if (bundle.isDirectory()) {
+				appendStamp(stamp, new File(bundle, JarFile.MANIFEST_NAME));
+				appendStamp(stamp, new File(bundle, PROPERTIES_FILE));
+				appendStamp(stamp, new File(bundle, PDE_CORE_PREFS));
+			}
+			result.put(bundle.getAbsolutePath(), stamp.toString());
+		}
+		return result;
+	}
+
+	private static void appendStamp(StringBuffer stamp, File file) {
+		stamp.append(file.length()).append(',').append(file.lastModified()).append(';');
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static void update(MessageDigest digest, File file) {
+		update(digest, file.getAbsolutePath() + ',' + file.length() + ',' + file.lastModified());
+	}
+
+	/**
+	 * Read the snapshot stored in the given folder.
+	 * @return the snapshot, or <code>null</code> if there is no snapshot, it can't be read or it does not match the fingerprint
+	 */
+	public static StateSnapshot read(File location, String fingerprint, StateObjectFactory factory) {
+		if (fingerprint == null || !fingerprint.equals(readFingerprint(location)))
+			return null;
+
+		StateSnapshot result = new StateSnapshot();
+		try (ObjectInputStream input = new ObjectInputStream(new BufferedInputStream(new FileInputStream(new File(location, DATA_FILE))))) {
+			result.nextId = input.readLong();
+			result.qualifiersReplaced = input.readBoolean();
+			result.globalQualifier = (String) input.readObject();
+			result.classpaths = readMap(input);
+			result.patchData = readMap(input);
+			result.userObjects = readMap(input);
+			result.bundleStamps = readMap(input);
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			return null;
+		}
+
+		//Replaced qualifiers are only reproducible when they come from a forced context qualifier
+		String currentQualifier = QualifierReplacer.getGlobalQualifier();
+		if (result.qualifiersReplaced && (currentQualifier == null || !currentQualifier.equals(result.globalQualifier)))
+			return null;
+
+		try {
+			result.state = factory.readState(location);
+		} catch (IOException e) {
+			return null;
+		}
+		return result.state != null ? result : null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <K, V> HashMap<K, V> readMap(ObjectInputStream input) throws IOException, ClassNotFoundException {
+		return (HashMap<K, V>) input.readObject();
+	}
+
+	private static String readFingerprint(File location) {
+		File file = new File(location, FINGERPRINT_FILE);
+		if (!file.isFile())
+			return null;
+		try {
+			return Utils.readFile(file).toString().trim();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Write this snapshot in the given folder. The fingerprint is written last so a partially written
+	 * snapshot is never reused.
+	 */
+	public void write(File location, String fingerprint, StateObjectFactory factory) {
+		if (fingerprint == null)
+			return;
+
+		File fingerprintFile = new File(location, FINGERPRINT_FILE);
+		fingerprintFile.delete();
+		location.mkdirs();
+		try {
+			factory.writeState(state, location);
+			try (ObjectOutputStream output = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(new File(location, DATA_FILE))))) {
+				output.writeLong(nextId);
+				output.writeBoolean(qualifiersReplaced);
+				output.writeObject(globalQualifier);
+				output.writeObject(classpaths);
+				output.writeObject(patchData);
+				output.writeObject(userObjects);
+				output.writeObject(bundleStamps);
+			}
+			try (Writer writer = new OutputStreamWriter(new FileOutputStream(fingerprintFile), StandardCharsets.UTF_8)) {
+				writer.write(fingerprint);
+			}
+		} catch (IOException e) {
+			//Ignore, the state will be resolved again next time
+			fingerprintFile.delete();
+		}
+	}
+}
@@ -0,0 +1,656 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
+import org.apache.tools.ant.*;
+import org.apache.tools.ant.types.ArchiveFileSet;
+import org.apache.tools.ant.types.TarFileSet;
+import org.apache.tools.ant.types.ZipFileSet;
+import org.apache.tools.tar.*;
+import org.apache.tools.zip.UnixStat;
+
+/**
+ * Write a zip or a tar.gz archive in a single pass. The content of the archive is described by nested
+ * zipfileset or tarfileset elements, like for the zip and tar tasks. The entries are compressed on a
+ * pool of threads and written in order. Symbolic links are stored as links and the modes of the file
+ * sets are recorded in the archive.
+ */
+public class ArchiveTask extends Task {
+	private static final String FORMAT_ZIP = "zip"; //$NON-NLS-1$
+	private static final String FORMAT_TAR_GZ = "tar.gz"; //$NON-NLS-1$
+	private static final int BUFFER_SIZE = 64 * 1024;
+	//Size of the blocks of a tar.gz archive that are compressed independently
+	private static final int BLOCK_SIZE = 1024 * 1024;
+	//Entries larger than this are compressed to a temporary file instead of memory
+	private static final long MEMORY_ENTRY_SIZE = 8 * 1024 * 1024;
+
+	private static final long LOCAL_HEADER = 0x04034b50L;
+	private static final long CENTRAL_HEADER = 0x02014b50L;
+	private static final long END_OF_CENTRAL_DIRECTORY = 0x06054b50L;
+	private static final long ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50L;
+	private static final long ZIP64_LOCATOR = 0x07064b50L;
+	private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+	private static final int ZIP64_ENTRIES_MAGIC = 0xFFFF;
+	private static final int UTF8_FLAG = 0x0800;
+	private static final int UNIX_PLATFORM = 3 << 8;
+
+	private static class Entry {
+		final String name;
+		final File file;
+		final String link;
+		final int mode;
+		final long time;
+		final boolean implicit;
+		//Set when the entry is kept from the zip being updated
+		final org.apache.tools.zip.ZipEntry archived;
+
+		Entry(String name, File file, String link, int mode, long time, boolean implicit, org.apache.tools.zip.ZipEntry archived) {
+			this.name = name;
+			this.file = file;
+			this.link = link;
+			this.mode = mode;
+			this.time = time;
+			this.implicit = implicit;
+			this.archived = archived;
+		}
+
+		boolean isDirectory() {
+			return name.endsWith("/"); //$NON-NLS-1$
+		}
+	}
+
+	private static class CompressedEntry {
+		final Entry entry;
+		//The compressed content is either in memory or in a temporary file
+		final byte[] data;
+		final File dataFile;
+		final long compressedSize;
+		final int method;
+		final long crc;
+		final long size;
+
+		CompressedEntry(Entry entry, byte[] data, File dataFile, long compressedSize, int method, long crc, long size) {
+			this.entry = entry;
+			this.data = data;
+			this.dataFile = dataFile;
+			this.compressedSize = compressedSize;
+			this.method = method;
+			this.crc = crc;
+			this.size = size;
+		}
+
+		CompressedEntry(Entry entry, byte[] data, int method, long crc, long size) {
+			this(entry, data, null, data.length, method, crc, size);
+		}
+	}
+
+	private final List<ArchiveFileSet> fileSets = new ArrayList<>();
+	private File destFile = null;
+	private String format = null;
+	private boolean update = false;
+	private int threadCount = 0;
+
+	public void addZipfileset(ZipFileSet set) {
+		fileSets.add(set);
+	}
+
+	public void addTarfileset(TarFileSet set) {
+		fileSets.add(set);
+	}
+
+	@Override
+	public void execute() throws BuildException {
+		if (destFile == null)
+			throw new BuildException("The destfile attribute is required.", getLocation()); //$NON-NLS-1$
+		String archiveFormat = format != null ? format : (destFile.getName().endsWith(".tar.gz") ? FORMAT_TAR_GZ : FORMAT_ZIP); //$NON-NLS-1$
+		if (!FORMAT_ZIP.equals(archiveFormat) && !FORMAT_TAR_GZ.equals(archiveFormat))
+			throw new BuildException("Unsupported archive format: " + archiveFormat, getLocation()); //$NON-NLS-1$
+
+		Map<String, Entry> entries = collectEntries();
+		File existing = (update && destFile.isFile()) ? destFile : null;
+		if (entries.isEmpty() && existing == null) {
+			log("Nothing to archive in " + destFile, Project.MSG_VERBOSE); //$NON-NLS-1$
+			return;
+		}
+		log("Building " + archiveFormat + ": " + destFile.getAbsolutePath()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		File parent = destFile.getAbsoluteFile().getParentFile();
+		parent.mkdirs();
+		ExecutorService executor = Executors.newFixedThreadPool(getThreadCount(), runnable -> {
+			Thread thread = new Thread(runnable, "PDE Build Archiver"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		File temp = null;
+		File spool = null;
+		try {
+			//The archive is written next to the destination so an existing archive can be read while writing
+			temp = File.createTempFile(destFile.getName(), ".tmp", parent); //$NON-NLS-1$
+			try (OutputStream output = new BufferedOutputStream(new FileOutputStream(temp), BUFFER_SIZE)) {
+				if (FORMAT_ZIP.equals(archiveFormat)) {
+					spool = Files.createTempDirectory(parent.toPath(), destFile.getName()).toFile();
+					writeZip(entries, existing, output, executor, spool);
+				} else {
+					writeTarGz(entries, existing, output, executor);
+				}
+			}
+			Files.move(temp.toPath(), destFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new BuildException("Could not write " + destFile, e, getLocation()); //$NON-NLS-1$
+		} finally {
+			executor.shutdownNow();
+			if (temp != null)
+				temp.delete();
+			if (spool != null)
+				deleteSpool(executor, spool);
+		}
+	}
+
+	/*
+	 * Delete the temporary files of the large entries once the compressions still running after a failure are done.
+	 */
+	private static void deleteSpool(ExecutorService executor, File spool) {
+		try {
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		File[] files = spool.listFiles();
+		if (files != null) {
+			for (File file : files)
+				file.delete();
+		}
+		spool.delete();
+	}
+
+	private Map<String, Entry> collectEntries() {
+		Map<String, Entry> entries = new LinkedHashMap<>();
+		for (ArchiveFileSet set : fileSets) {
+			if (set.getSrc(getProject()) != null)
+				throw new BuildException("Archives are not supported as the source of a file set.", getLocation()); //$NON-NLS-1$
+			//Links are not followed so they can be stored as links
+			set.setFollowSymlinks(false);
+			DirectoryScanner scanner = set.getDirectoryScanner(getProject());
+			Path base = scanner.getBasedir().getAbsoluteFile().toPath();
+			String prefix = set.getPrefix(getProject());
+			if (prefix.length() > 0 && !prefix.endsWith("/")) //$NON-NLS-1$
+				prefix += '/';
+			String fullpath = set.getFullpath(getProject());
+
+			for (String dir : scanner.getIncludedDirectories()) {
+				if (dir.length() > 0)
+					addEntry(entries, new Entry(prefix + toEntryName(dir) + '/', null, null, set.getDirMode(getProject()), base.resolve(dir).toFile().lastModified(), false, null));
+			}
+			for (String file : scanner.getIncludedFiles()) {
+				File source = base.resolve(file).toFile();
+				String name = fullpath.length() > 0 ? fullpath : prefix + toEntryName(file);
+				addEntry(entries, new Entry(name, source, null, set.getFileMode(getProject()), source.lastModified(), false, null));
+			}
+			for (String link : scanner.getNotFollowedSymlinks()) {
+				Path path = Paths.get(link);
+				try {
+					String name = fullpath.length() > 0 ? fullpath : prefix + toEntryName(base.relativize(path).toString());
+					long time = Files.getLastModifiedTime(path, LinkOption.NOFOLLOW_LINKS).toMillis();
+					addEntry(entries, new Entry(name, null, Files.readSymbolicLink(path).toString(), UnixStat.LINK_FLAG | UnixStat.DEFAULT_LINK_PERM, time, false, null));
+				} catch (IOException e) {
+					throw new BuildException("Could not read the link " + link, e, getLocation()); //$NON-NLS-1$
+				}
+			}
+		}
+		return entries;
+	}
+
+	/*
+	 * Add an entry preceded by its parent folders. A folder coming from a file set replaces the one
+	 * that has been added as the parent of a previous entry, the other duplicates are ignored.
+	 */
+	private void addEntry(Map<String, Entry> entries, Entry entry) {
+		for (int index = entry.name.indexOf('/'); index != -1 && index < entry.name.length() - 1; index = entry.name.indexOf('/', index + 1)) {
+			String parent = entry.name.substring(0, index + 1);
+			if (!entries.containsKey(parent))
+				entries.put(parent, new Entry(parent, null, null, UnixStat.DIR_FLAG | UnixStat.DEFAULT_DIR_PERM, entry.time, true, null));
+		}
+		Entry previous = entries.get(entry.name);
+		if (previous == null || (previous.implicit && entry.isDirectory()))
+			entries.put(entry.name, entry);
+		else if (!entry.isDirectory())
+			log("Skipping duplicate entry " + entry.name, Project.MSG_VERBOSE); //$NON-NLS-1$
+	}
+
+	private static String toEntryName(String path) {
+		return path.replace(File.separatorChar, '/');
+	}
+
+	private void writeZip(Map<String, Entry> entries, File existing, OutputStream output, ExecutorService executor, File spool) throws IOException {
+		org.apache.tools.zip.ZipFile archive = existing != null ? new org.apache.tools.zip.ZipFile(existing) : null;
+		try {
+			List<Entry> all = new ArrayList<>();
+			if (archive != null) {
+				for (Enumeration<org.apache.tools.zip.ZipEntry> enumeration = archive.getEntries(); enumeration.hasMoreElements();) {
+					org.apache.tools.zip.ZipEntry old = enumeration.nextElement();
+					if (entries.containsKey(old.getName()))
+						continue;
+					int mode = old.getUnixMode() != 0 ? old.getUnixMode() : (old.isDirectory() ? UnixStat.DIR_FLAG | UnixStat.DEFAULT_DIR_PERM : UnixStat.FILE_FLAG | UnixStat.DEFAULT_FILE_PERM);
+					all.add(new Entry(old.getName(), null, null, mode, old.getTime(), false, old));
+				}
+			}
+			all.addAll(entries.values());
+
+			//The entries are compressed ahead of the one being written, within a bounded window
+			ZipOutput zip = new ZipOutput(output);
+			Deque<Future<CompressedEntry>> pending = new ArrayDeque<>();
+			int window = getThreadCount() * 2;
+			for (Entry entry : all) {
+				pending.add(executor.submit(() -> compress(entry, archive, spool)));
+				if (pending.size() >= window)
+					zip.write(getResult(pending.poll()));
+			}
+			while (!pending.isEmpty())
+				zip.write(getResult(pending.poll()));
+			zip.finish();
+		} finally {
+			if (archive != null)
+				archive.close();
+		}
+	}
+
+	private static CompressedEntry compress(Entry entry, org.apache.tools.zip.ZipFile archive, File spool) throws IOException {
+		if (entry.link == null && isLarge(entry))
+			return compressToFile(entry, archive, spool);
+
+		byte[] content;
+		if (entry.link != null) {
+			content = entry.link.getBytes(StandardCharsets.UTF_8);
+		} else if (entry.file != null) {
+			content = Files.readAllBytes(entry.file.toPath());
+		} else if (entry.archived != null && !entry.isDirectory()) {
+			try (InputStream input = archive.getInputStream(entry.archived)) {
+				content = input.readAllBytes();
+			}
+		} else {
+			content = new byte[0];
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		if (content.length > 0 && entry.link == null && (entry.mode & UnixStat.LINK_FLAG) != UnixStat.LINK_FLAG) {
+			Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+			try {
+				deflater.setInput(content);
+				deflater.finish();
+				ByteArrayOutputStream deflated = new ByteArrayOutputStream(content.length / 2 + 64);
+				byte[] buffer = new byte[BUFFER_SIZE];
+				while (!deflater.finished()) {
+					int count = deflater.deflate(buffer);
+					deflated.write(buffer, 0, count);
+				}
+				//Keep the content stored when compressing does not make it smaller
+				if (deflated.size() < content.length)
+					return new CompressedEntry(entry, deflated.toByteArray(), ZipEntry.DEFLATED, crc.getValue(), content.length);
+			} finally {
+				deflater.end();
+			}
+		}
+		return new CompressedEntry(entry, content, ZipEntry.STORED, crc.getValue(), content.length);
+	}
+
+	private static boolean isLarge(Entry entry) {
+		if (entry.file != null)
+			return entry.file.length() > MEMORY_ENTRY_SIZE;
+		if (entry.archived != null && !entry.isDirectory())
+			return entry.archived.getSize() < 0 || entry.archived.getSize() > MEMORY_ENTRY_SIZE;
+		return false;
+	}
+
+	/*
+	 * Deflate the content of a large entry to a temporary file while computing its checksum, the content is never held in memory.
+	 */
+	private static CompressedEntry compressToFile(Entry entry, org.apache.tools.zip.ZipFile archive, File spool) throws IOException {
+		File data = File.createTempFile("entry", ".tmp", spool); //$NON-NLS-1$ //$NON-NLS-2$
+		CRC32 crc = new CRC32();
+		long size = 0;
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		try (InputStream input = entry.file != null ? new FileInputStream(entry.file) : archive.getInputStream(entry.archived); OutputStream output = new DeflaterOutputStream(new FileOutputStream(data), deflater, BUFFER_SIZE)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+				crc.update(buffer, 0, read);
+				output.write(buffer, 0, read);
+				size += read;
+			}
+		} catch (IOException e) {
+			data.delete();
+			throw e;
+		} finally {
+			deflater.end();
+		}
+		return new CompressedEntry(entry, null, data, data.length(), ZipEntry.DEFLATED, crc.getValue(), size);
+	}
+
+	private void writeTarGz(Map<String, Entry> entries, File existing, OutputStream output, ExecutorService executor) throws IOException {
+		try (TarOutputStream tar = new TarOutputStream(new ParallelGZipOutputStream(output, executor, getThreadCount() * 2))) {
+			tar.setLongFileMode(TarOutputStream.LONGFILE_GNU);
+			tar.setBigNumberMode(TarOutputStream.BIGNUMBER_POSIX);
+			if (existing != null) {
+				try (TarInputStream input = new TarInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(existing), BUFFER_SIZE)))) {
+					for (TarEntry old = input.getNextEntry(); old != null; old = input.getNextEntry()) {
+						if (entries.containsKey(old.getName()))
+							continue;
+						tar.putNextEntry(old);
+						if (!old.isDirectory())
+							input.copyEntryContents(tar);
+						tar.closeEntry();
+					}
+				}
+			}
+
+			for (Entry entry : entries.values()) {
+				TarEntry tarEntry;
+				if (entry.link != null) {
+					tarEntry = new TarEntry(entry.name, TarConstants.LF_SYMLINK);
+					tarEntry.setLinkName(entry.link);
+				} else {
+					tarEntry = new TarEntry(entry.name);
+					if (entry.file != null)
+						tarEntry.setSize(entry.file.length());
+				}
+				tarEntry.setMode(entry.mode);
+				tarEntry.setModTime(entry.time);
+				tar.putNextEntry(tarEntry);
+				if (entry.file != null)
+					Files.copy(entry.file.toPath(), tar);
+				tar.closeEntry();
+			}
+		}
+	}
+
+	private static <T> T getResult(Future<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException)
+				throw (IOException) e.getCause();
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private int getThreadCount() {
+		if (threadCount > 0)
+			return threadCount;
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	public void setDestfile(File destFile) {
+		this.destFile = destFile;
+	}
+
+	/**
+	 * Set the format of the archive, zip or tar.gz. When not set, the format is derived from the
+	 * name of the archive.
+	 */
+	public void setFormat(String format) {
+		this.format = format;
+	}
+
+	/**
+	 * Set whether the entries of an existing archive are kept. The entries of the file sets replace
+	 * the existing entries with the same name.
+	 */
+	public void setUpdate(boolean update) {
+		this.update = update;
+	}
+
+	public void setThreadCount(int threadCount) {
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Write the entries of a zip file whose content has already been compressed, the sizes are
+	 * therefore known when writing the local headers. The zip64 extensions are used when needed.
+	 * The temporary files holding the content of the large entries are deleted once written.
+	 */
+	private static class ZipOutput {
+		private final CountingOutputStream output;
+		private final ByteArrayOutputStream central = new ByteArrayOutputStream();
+		private long entryCount = 0;
+
+		ZipOutput(OutputStream output) {
+			this.output = new CountingOutputStream(output);
+		}
+
+		void write(CompressedEntry compressed) throws IOException {
+			Entry entry = compressed.entry;
+			byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+			long offset = output.count;
+			long time = toDosTime(entry.time);
+			boolean zip64 = compressed.size >= ZIP64_MAGIC || compressed.compressedSize >= ZIP64_MAGIC;
+			boolean zip64Offset = offset >= ZIP64_MAGIC;
+			int version = (zip64 || zip64Offset) ? 45 : 20;
+
+			writeInt(output, LOCAL_HEADER);
+			writeShort(output, version);
+			writeShort(output, UTF8_FLAG);
+			writeShort(output, compressed.method);
+			writeInt(output, time);
+			writeInt(output, compressed.crc);
+			writeInt(output, zip64 ? ZIP64_MAGIC : compressed.compressedSize);
+			writeInt(output, zip64 ? ZIP64_MAGIC : compressed.size);
+			writeShort(output, name.length);
+			writeShort(output, zip64 ? 20 : 0);
+			output.write(name);
+			if (zip64) {
+				writeShort(output, 1);
+				writeShort(output, 16);
+				writeLong(output, compressed.size);
+				writeLong(output, compressed.compressedSize);
+			}
+			if (compressed.dataFile != null) {
+				try {
+					Files.copy(compressed.dataFile.toPath(), output);
+				} finally {
+					compressed.dataFile.delete();
+				}
+			} else {
+				output.write(compressed.data);
+			}
+
+			int extraLength = (zip64 ? 16 : 0) + (zip64Offset ? 8 : 0);
+			writeInt(central, CENTRAL_HEADER);
+			writeShort(central, UNIX_PLATFORM | version);
+			writeShort(central, version);
+			writeShort(central, UTF8_FLAG);
+			writeShort(central, compressed.method);
+			writeInt(central, time);
+			writeInt(central, compressed.crc);
+			writeInt(central, zip64 ? ZIP64_MAGIC : compressed.compressedSize);
+			writeInt(central, zip64 ? ZIP64_MAGIC : compressed.size);
+			writeShort(central, name.length);
+			writeShort(central, extraLength > 0 ? extraLength + 4 : 0);
+			writeShort(central, 0); //comment
+			writeShort(central, 0); //disk
+			writeShort(central, 0); //internal attributes
+			writeInt(central, ((entry.mode & 0xFFFFL) << 16) | (entry.isDirectory() ? 0x10 : 0));
+			writeInt(central, zip64Offset ? ZIP64_MAGIC : offset);
+			central.write(name);
+			if (extraLength > 0) {
+				writeShort(central, 1);
+				writeShort(central, extraLength);
+				if (zip64) {
+					writeLong(central, compressed.size);
+					writeLong(central, compressed.compressedSize);
+				}
+				if (zip64Offset)
+					writeLong(central, offset);
+			}
+			entryCount++;
+		}
+
+		void finish() throws IOException {
+			long centralOffset = output.count;
+			long centralSize = central.size();
+			central.writeTo(output);
+
+			if (entryCount >= ZIP64_ENTRIES_MAGIC || centralOffset >= ZIP64_MAGIC || centralSize >= ZIP64_MAGIC) {
+				long zip64End = output.count;
+				writeInt(output, ZIP64_END_OF_CENTRAL_DIRECTORY);
+				writeLong(output, 44);
+				writeShort(output, UNIX_PLATFORM | 45);
+				writeShort(output, 45);
+				writeInt(output, 0);
+				writeInt(output, 0);
+				writeLong(output, entryCount);
+				writeLong(output, entryCount);
+				writeLong(output, centralSize);
+				writeLong(output, centralOffset);
+
+				writeInt(output, ZIP64_LOCATOR);
+				writeInt(output, 0);
+				writeLong(output, zip64End);
+				writeInt(output, 1);
+			}
+
+			writeInt(output, END_OF_CENTRAL_DIRECTORY);
+			writeShort(output, 0);
+			writeShort(output, 0);
+			writeShort(output, (int) Math.min(entryCount, ZIP64_ENTRIES_MAGIC));
+			writeShort(output, (int) Math.min(entryCount, ZIP64_ENTRIES_MAGIC));
+			writeInt(output, Math.min(centralSize, ZIP64_MAGIC));
+			writeInt(output, Math.min(centralOffset, ZIP64_MAGIC));
+			writeShort(output, 0);
+			output.flush();
+		}
+
+		private static long toDosTime(long time) {
+			Calendar calendar = Calendar.getInstance();
+			calendar.setTimeInMillis(time);
+			int year = calendar.get(Calendar.YEAR);
+			if (year < 1980)
+				return (1 << 21) | (1 << 16);
+			return ((year - 1980L) << 25) | ((calendar.get(Calendar.MONTH) + 1L) << 21) | ((long) calendar.get(Calendar.DAY_OF_MONTH) << 16) | ((long) calendar.get(Calendar.HOUR_OF_DAY) << 11) | ((long) calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+		}
+
+		private static void writeShort(OutputStream output, int value) throws IOException {
+			output.write(value & 0xFF);
+			output.write((value >> 8) & 0xFF);
+		}
+
+		private static void writeInt(OutputStream output, long value) throws IOException {
+			writeShort(output, (int) (value & 0xFFFF));
+			writeShort(output, (int) ((value >> 16) & 0xFFFF));
+		}
+
+		private static void writeLong(OutputStream output, long value) throws IOException {
+			writeInt(output, value & ZIP64_MAGIC);
+			writeInt(output, (value >>> 32) & ZIP64_MAGIC);
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+		long count = 0;
+
+		CountingOutputStream(OutputStream output) {
+			super(output);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+	/**
+	 * Compress the data in blocks on a pool of threads. Each block is written as a gzip member,
+	 * the concatenation of the members is a valid gzip stream.
+	 */
+	private static class ParallelGZipOutputStream extends OutputStream {
+		private final OutputStream output;
+		private final ExecutorService executor;
+		private final int window;
+		private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+		private byte[] block = new byte[BLOCK_SIZE];
+		private int count = 0;
+		private boolean closed = false;
+
+		ParallelGZipOutputStream(OutputStream output, ExecutorService executor, int window) {
+			this.output = output;
+			this.executor = executor;
+			this.window = window;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			block[count++] = (byte) b;
+			if (count == block.length)
+				compressBlock();
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			while (len > 0) {
+				int length = Math.min(len, block.length - count);
+				System.arraycopy(b, off, block, count, length);
+				count += length;
+				off += length;
+				len -= length;
+				if (count == block.length)
+					compressBlock();
+			}
+		}
+
+		private void compressBlock() throws IOException {
+			if (count == 0)
+				return;
+			byte[] data = block;
+			int length = count;
+			pending.add(executor.submit(() -> {
+				ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+				try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE)) {
+					gzip.write(data, 0, length);
+				}
+				return compressed.toByteArray();
+			}));
+			block = new byte[BLOCK_SIZE];
+			count = 0;
+			while (pending.size() >= window)
+				output.write(getResult(pending.poll()));
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed)
+				return;
+			closed = true;
+			compressBlock();
+			while (!pending.isEmpty())
+				output.write(getResult(pending.poll()));
+			output.close();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import org.apache.tools.ant.*;
+import org.eclipse.pde.internal.build.BuildMetrics;
+
+/**
+ * A build listener recording the execution of every target of a build in the build metrics. The
+ * targets of the scripts run by the main build, for example the compilation of each bundle, the
+ * gathering, the assembly and the packaging, are recorded with the name of the project of their script.
+ * <p>
+ * The listener is registered with the <code>-listener</code> argument of ant. The timeline is written
+ * at the end of the build in the file named by the <code>buildMetrics</code> property, nothing is
+ * recorded when the property is not set.
+ * </p>
+ */
+public class BuildMetricsListener implements BuildListener {
+	private final Map<Target, BuildMetrics.Phase> runningTargets = Collections.synchronizedMap(new IdentityHashMap<>());
+	private boolean initialized = false;
+	private File timeline = null;
+
+	@Override
+	public void buildStarted(BuildEvent event) {
+		// Do nothing, the properties of the build are not set yet
+	}
+
+	@Override
+	public synchronized void buildFinished(BuildEvent event) {
+		if (timeline == null)
+			return;
+		try {
+			BuildMetrics.write(timeline);
+		} catch (IOException e) {
+			event.getProject().log("Could not write the build metrics in " + timeline + ": " + e.getMessage(), Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			BuildMetrics.disable();
+			//A listener run again for another build checks the properties of that build
+			timeline = null;
+			initialized = false;
+		}
+	}
+
+	@Override
+	public void targetStarted(BuildEvent event) {
+		if (!isActive(event.getProject()))
+			return;
+		Target target = event.getTarget();
+		runningTargets.put(target, BuildMetrics.start("target", getProjectName(event.getProject()) + '/' + target.getName())); //$NON-NLS-1$
+	}
+
+	@Override
+	public void targetFinished(BuildEvent event) {
+		BuildMetrics.Phase phase = runningTargets.remove(event.getTarget());
+		if (phase != null)
+			phase.close();
+	}
+
+	@Override
+	public void taskStarted(BuildEvent event) {
+		// Do nothing
+	}
+
+	@Override
+	public void taskFinished(BuildEvent event) {
+		// Do nothing
+	}
+
+	@Override
+	public void messageLogged(BuildEvent event) {
+		// Do nothing
+	}
+
+	//The first target started belongs to the main build, its properties tell whether the metrics are collected
+	private synchronized boolean isActive(Project project) {
+		if (!initialized) {
+			initialized = true;
+			timeline = TaskHelper.initializeMetrics(project);
+		}
+		return timeline != null;
+	}
+
+	private static String getProjectName(Project project) {
+		String name = project.getName();
+		if (name != null && name.length() > 0)
+			return name;
+		File baseDir = project.getBaseDir();
+		return baseDir != null ? baseDir.getName() : ""; //$NON-NLS-1$
+	}
+}
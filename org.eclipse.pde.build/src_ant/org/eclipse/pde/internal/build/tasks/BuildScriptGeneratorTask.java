@@ -107,7 +107,12 @@ public class BuildScriptGeneratorTask extends Task {
 			generator.setReportResolutionErrors(true);
 		generator.setImmutableAntProperties(antProperties);
 		BundleHelper.getDefault().setLog(this);
-		generator.generate();
+		File timeline = TaskHelper.initializeMetrics(getProject());
+		try (BuildMetrics.Phase phase = BuildMetrics.start("generateScript", null)) { //$NON-NLS-1$
+			generator.generate();
+		} finally {
+			TaskHelper.writeMetrics(this, timeline);
+		}
 		BundleHelper.getDefault().setLog(null);
 	}
 
@@ -124,6 +129,74 @@ public class BuildScriptGeneratorTask extends Task {
 		if (Boolean.valueOf(value).booleanValue())
 			properties.put(IBuildPropertiesConstants.PROPERTY_ALLOW_BINARY_CYCLES, "true"); //$NON-NLS-1$
 
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_MANIFEST_LOADING);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_MANIFEST_LOADING, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_FEATURE_PARSING);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_FEATURE_PARSING, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_FEATURE_INDEX);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_FEATURE_INDEX, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_MANIFEST_CACHE);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_MANIFEST_CACHE, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_STATE_SNAPSHOT);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_STATE_SNAPSHOT, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PROPERTIES_CACHE);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PROPERTIES_CACHE, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_INCREMENTAL_SCRIPTS);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_INCREMENTAL_SCRIPTS, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_SCRIPT_GENERATION);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_SCRIPT_GENERATION, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_SOURCE_GENERATION);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_SOURCE_GENERATION, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_NESTED_JAR_CACHE);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_NESTED_JAR_CACHE, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_COMPILE_CACHE);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_COMPILE_CACHE, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_COMPILE_EXECUTOR);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_COMPILE_EXECUTOR, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_STREAMING_ARCHIVES);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_STREAMING_ARCHIVES, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_ASSEMBLY);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_ASSEMBLY, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_ASSEMBLY_THREAD_COUNT);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_ASSEMBLY_THREAD_COUNT, value);
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_GENERATION_THREAD_COUNT);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_GENERATION_THREAD_COUNT, value);
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_BULK_ID_REPLACEMENT);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_BULK_ID_REPLACEMENT, "true"); //$NON-NLS-1$
+
 		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_P2_GATHERING);
 		if (Boolean.valueOf(value).booleanValue())
 			properties.put(IBuildPropertiesConstants.PROPERTY_P2_GATHERING, "true"); //$NON-NLS-1$ 
@@ -138,7 +211,7 @@ public class BuildScriptGeneratorTask extends Task {
 	}
 
 	private void setEEProfileProperties(Properties antProperties) {
-		ProfileManager manager = new ProfileManager(generator.getEESources(), true);
+		ProfileManager manager = ProfileManager.getProfileManager(generator.getEESources(), true);
 		manager.copyEEProfileProperties(getProject().getProperties(), antProperties);
 	}
 
@@ -0,0 +1,609 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import org.apache.tools.ant.*;
+import org.apache.tools.ant.taskdefs.*;
+import org.apache.tools.ant.taskdefs.condition.Os;
+import org.apache.tools.ant.types.FileSet;
+import org.apache.tools.ant.types.Path;
+import org.apache.tools.ant.util.FileUtils;
+import org.eclipse.pde.internal.build.IBuildPropertiesConstants;
+import org.eclipse.pde.internal.build.IXMLConstants;
+
+/**
+ * Compile a set of bundles on a pool of threads. A bundle is started as soon as all the bundles it
+ * requires are compiled. The bundles are started in the order they are listed when several of them are ready.
+ * <p>
+ * A bundle element giving the name of the bundle also describes the compilation done by the build.jars target
+ * of the bundle. Such a bundle is compiled in the project of the task, without loading its build.xml: the
+ * properties the build.xml would define are computed for the bundle only, a property of the project taking
+ * precedence as it would in the build.xml. The other bundles are compiled by running their build.jars target.
+ * </p>
+ */
+public class CompileBundlesTask extends Task {
+	private static final String SEPARATOR = ":"; //$NON-NLS-1$
+	private static final String ANT_PREFIX = "${"; //$NON-NLS-1$
+	private static final String ANT_SUFFIX = "}"; //$NON-NLS-1$
+	private static final String BASEDIR = "basedir"; //$NON-NLS-1$
+
+	public static class BundleElement {
+		private String id = null;
+		private String dir = null;
+		private String requires = null;
+		private String name = null;
+		private String javacSource = null;
+		private String javacTarget = null;
+		private String bootClasspath = null;
+		private final List<EnvironmentElement> environments = new ArrayList<>();
+		private final List<PathElement> prerequisites = new ArrayList<>();
+		private final List<EntryElement> entries = new ArrayList<>();
+
+		public void setId(String id) {
+			this.id = id;
+		}
+
+		public void setDir(String dir) {
+			this.dir = dir;
+		}
+
+		public void setRequires(String requires) {
+			this.requires = requires;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void setJavacSource(String javacSource) {
+			this.javacSource = javacSource;
+		}
+
+		public void setJavacTarget(String javacTarget) {
+			this.javacTarget = javacTarget;
+		}
+
+		public void setBootClasspath(String bootClasspath) {
+			this.bootClasspath = bootClasspath;
+		}
+
+		public EnvironmentElement createEnvironment() {
+			EnvironmentElement environment = new EnvironmentElement();
+			environments.add(environment);
+			return environment;
+		}
+
+		public PathElement createPrerequisite() {
+			PathElement prerequisite = new PathElement();
+			prerequisites.add(prerequisite);
+			return prerequisite;
+		}
+
+		public EntryElement createEntry() {
+			EntryElement entry = new EntryElement();
+			entries.add(entry);
+			return entry;
+		}
+	}
+
+	public static class EnvironmentElement {
+		private String name = null;
+		private String source = null;
+		private String target = null;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void setSource(String source) {
+			this.source = source;
+		}
+
+		public void setTarget(String target) {
+			this.target = target;
+		}
+	}
+
+	public static class PathElement {
+		private String path = null;
+
+		public void setPath(String path) {
+			this.path = path;
+		}
+	}
+
+	public static class ExcludeElement {
+		private String name = null;
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	public static class EntryElement {
+		private String name = null;
+		private String destdir = null;
+		private String available = null;
+		private boolean modular = false;
+		private String encoding = null;
+		private String compilerArg = null;
+		private String argsFile = null;
+		private String warningProperties = null;
+		private String resourceExcludes = null;
+		private final List<PathElement> sources = new ArrayList<>();
+		private final List<PathElement> classpath = new ArrayList<>();
+		private final List<ExcludeElement> excludes = new ArrayList<>();
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public void setDestdir(String destdir) {
+			this.destdir = destdir;
+		}
+
+		public void setAvailable(String available) {
+			this.available = available;
+		}
+
+		public void setModular(boolean modular) {
+			this.modular = modular;
+		}
+
+		public void setEncoding(String encoding) {
+			this.encoding = encoding;
+		}
+
+		public void setCompilerArg(String compilerArg) {
+			this.compilerArg = compilerArg;
+		}
+
+		public void setArgsFile(String argsFile) {
+			this.argsFile = argsFile;
+		}
+
+		public void setWarningProperties(String warningProperties) {
+			this.warningProperties = warningProperties;
+		}
+
+		public void setResourceExcludes(String resourceExcludes) {
+			this.resourceExcludes = resourceExcludes;
+		}
+
+		public PathElement createSrc() {
+			PathElement source = new PathElement();
+			sources.add(source);
+			return source;
+		}
+
+		public PathElement createClasspath() {
+			PathElement element = new PathElement();
+			classpath.add(element);
+			return element;
+		}
+
+		public ExcludeElement createExclude() {
+			ExcludeElement exclude = new ExcludeElement();
+			excludes.add(exclude);
+			return exclude;
+		}
+	}
+
+	private final List<BundleElement> bundles = new ArrayList<>();
+	private String antfile = "build.xml"; //$NON-NLS-1$
+	private String target = "build.jars"; //$NON-NLS-1$
+	private int threadCount = 0;
+	private int threadsPerProcessor = 0;
+	private boolean failOnError = true;
+	private String defaultBootClasspath = null;
+
+	public BundleElement createBundle() {
+		BundleElement bundle = new BundleElement();
+		bundles.add(bundle);
+		return bundle;
+	}
+
+	@Override
+	public void execute() throws BuildException {
+		Map<String, BundleElement> bundlesById = new LinkedHashMap<>();
+		for (BundleElement bundle : bundles) {
+			if (bundle.id == null || bundle.dir == null)
+				throw new BuildException("The id and dir attributes are required for each bundle.", getLocation()); //$NON-NLS-1$
+			bundlesById.put(bundle.id, bundle);
+		}
+
+		Map<BundleElement, Integer> pending = new HashMap<>();
+		Map<String, List<BundleElement>> dependents = new HashMap<>();
+		for (BundleElement bundle : bundles) {
+			int count = 0;
+			if (bundle.requires != null) {
+				for (StringTokenizer tokenizer = new StringTokenizer(bundle.requires, SEPARATOR); tokenizer.hasMoreTokens();) {
+					String required = tokenizer.nextToken().trim();
+					if (required.equals(bundle.id) || !bundlesById.containsKey(required))
+						continue;
+					dependents.computeIfAbsent(required, k -> new ArrayList<>()).add(bundle);
+					count++;
+				}
+			}
+			pending.put(bundle, Integer.valueOf(count));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(getThreadCount(), runnable -> {
+			Thread thread = new Thread(runnable, "PDE Build Compiler"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		CompletionService<BundleElement> completion = new ExecutorCompletionService<>(executor);
+		Set<BundleElement> started = new HashSet<>();
+		Map<BundleElement, BuildException> errors = new ConcurrentHashMap<>();
+		BuildException failure = null;
+		try {
+			int running = 0;
+			for (BundleElement bundle : bundles) {
+				if (pending.get(bundle).intValue() == 0) {
+					submit(completion, bundle, errors);
+					started.add(bundle);
+					running++;
+				}
+			}
+
+			while (running > 0) {
+				BundleElement done = completion.take().get();
+				running--;
+				BuildException error = errors.get(done);
+				if (error != null) {
+					if (failOnError && failure == null)
+						failure = error;
+					log(error.getMessage(), Project.MSG_ERR);
+				}
+				if (failure != null)
+					continue;
+				for (BundleElement dependent : dependents.getOrDefault(done.id, Collections.emptyList())) {
+					int count = pending.get(dependent).intValue() - 1;
+					pending.put(dependent, Integer.valueOf(count));
+					if (count == 0 && started.add(dependent)) {
+						submit(completion, dependent, errors);
+						running++;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BuildException(e, getLocation());
+		} catch (ExecutionException e) {
+			throw new BuildException(e.getCause(), getLocation());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		if (failure != null)
+			throw failure;
+
+		//Only happens with cyclic requirements, compile what is left in the given order
+		for (BundleElement bundle : bundles) {
+			if (!started.contains(bundle))
+				compile(bundle);
+		}
+	}
+
+	private void submit(CompletionService<BundleElement> completion, BundleElement bundle, Map<BundleElement, BuildException> errors) {
+		completion.submit(() -> {
+			Thread thread = Thread.currentThread();
+			getProject().registerThreadTask(thread, this);
+			try {
+				compile(bundle);
+			} catch (BuildException e) {
+				errors.put(bundle, e);
+			} finally {
+				getProject().registerThreadTask(thread, null);
+			}
+			return bundle;
+		});
+	}
+
+	private void compile(BundleElement bundle) {
+		File dir = getProject().resolveFile(bundle.dir);
+		if (bundle.name == null) {
+			Ant ant = new Ant(this);
+			ant.init();
+			ant.setDir(dir);
+			ant.setAntfile(antfile);
+			ant.setTarget(target);
+			ant.perform();
+			return;
+		}
+
+		Map<String, String> properties = getProperties(bundle, dir);
+		File marker = resolveFile(dir, resolve(format(IBuildPropertiesConstants.PROPERTY_COMPILE_PROBLEM_MARKER), properties));
+		marker.delete();
+		for (EntryElement entry : bundle.entries) {
+			if (entry.available != null && resolveFile(dir, resolve(entry.available, properties)).exists())
+				continue;
+			compile(bundle, entry, dir, properties, marker);
+		}
+	}
+
+	/*
+	 * Same tasks as the target of the entry in the build.xml of the bundle
+	 */
+	private void compile(BundleElement bundle, EntryElement entry, File dir, Map<String, String> properties, File marker) {
+		log("Compiling " + entry.name + " of " + bundle.name, Project.MSG_VERBOSE); //$NON-NLS-1$ //$NON-NLS-2$
+		String destdir = resolve(entry.destdir, properties);
+		File destination = resolveFile(dir, destdir);
+		Delete delete = new Delete();
+		bind(delete, "delete"); //$NON-NLS-1$
+		delete.setDir(destination);
+		delete.execute();
+		Mkdir mkdir = new Mkdir();
+		bind(mkdir, "mkdir"); //$NON-NLS-1$
+		mkdir.setDir(destination);
+		mkdir.execute();
+
+		Javac javac = new Javac();
+		bind(javac, "javac"); //$NON-NLS-1$
+		javac.setDestdir(destination);
+		javac.setFailonerror(Project.toBoolean(resolve(format(IXMLConstants.PROPERTY_JAVAC_FAIL_ON_ERROR), properties)));
+		javac.setVerbose(Project.toBoolean(resolve(format(IXMLConstants.PROPERTY_JAVAC_VERBOSE), properties)));
+		javac.setDebug(Project.toBoolean(resolve(format(IXMLConstants.PROPERTY_JAVAC_DEBUG_INFO), properties)));
+		javac.setIncludeantruntime(false);
+		if (!entry.modular)
+			javac.setBootclasspath(createPath(resolve(format(IXMLConstants.PROPERTY_BUNDLE_BOOTCLASSPATH), properties), dir));
+		javac.setSource(resolve(format(IXMLConstants.PROPERTY_BUNDLE_JAVAC_SOURCE), properties));
+		javac.setTarget(resolve(format(IXMLConstants.PROPERTY_BUNDLE_JAVAC_TARGET), properties));
+		if (getProject().getProperty(IXMLConstants.PROPERTY_BUILD_COMPILER) == null && properties.containsKey(IXMLConstants.PROPERTY_BUILD_COMPILER))
+			javac.setCompiler(properties.get(IXMLConstants.PROPERTY_BUILD_COMPILER));
+
+		String compiler = resolve(format(IXMLConstants.PROPERTY_BUILD_COMPILER), properties);
+		addCompilerArg(javac, resolve(format(IXMLConstants.PROPERTY_JAVAC_COMPILERARG), properties), compiler);
+		if (entry.compilerArg != null)
+			addCompilerArg(javac, resolve(entry.compilerArg, properties), null);
+
+		Path classpath = new Path(getProject());
+		for (PathElement element : entry.classpath) {
+			classpath.append(createPath(resolve(element.path, properties), dir));
+		}
+		javac.setClasspath(classpath);
+		for (PathElement source : entry.sources) {
+			javac.createSrc().append(createPath(resolve(source.path, properties), dir));
+		}
+		for (ExcludeElement exclude : entry.excludes) {
+			javac.createExclude().setName(resolve(exclude.name, properties));
+		}
+		if (entry.warningProperties != null)
+			addCompilerArg(javac, "-properties '" + resolve(entry.warningProperties, properties) + "'", IXMLConstants.JDT_COMPILER_ADAPTER); //$NON-NLS-1$ //$NON-NLS-2$
+		if (entry.argsFile != null) {
+			Javac.ImplementationSpecificArgument argument = javac.createCompilerArg();
+			argument.setValue("@" + resolve(entry.argsFile, properties)); //$NON-NLS-1$
+			argument.setCompiler(IXMLConstants.JDT_COMPILER_ADAPTER);
+		}
+		addCompilerArg(javac, "-log '" + destdir + resolve(format(IXMLConstants.PROPERTY_LOG_EXTENSION), properties) + "'", IXMLConstants.JDT_COMPILER_ADAPTER); //$NON-NLS-1$ //$NON-NLS-2$
+		if (entry.encoding != null)
+			javac.setEncoding(resolve(entry.encoding, properties));
+		javac.execute();
+
+		if (!javac.getTaskSuccess())
+			logCompileError(bundle, dir, properties, marker);
+
+		Copy copy = new Copy();
+		bind(copy, "copy"); //$NON-NLS-1$
+		copy.setTodir(destination);
+		copy.setFailOnError(true);
+		copy.setOverwrite(false);
+		for (PathElement source : entry.sources) {
+			for (PathTokenizer tokenizer = new PathTokenizer(resolve(source.path, properties)); tokenizer.hasMoreTokens();) {
+				FileSet fileSet = new FileSet();
+				fileSet.setProject(getProject());
+				fileSet.setDir(resolveFile(dir, tokenizer.nextToken()));
+				if (entry.resourceExcludes != null)
+					fileSet.setExcludes(resolve(entry.resourceExcludes, properties));
+				copy.addFileset(fileSet);
+			}
+		}
+		copy.execute();
+	}
+
+	private void addCompilerArg(Javac javac, String line, String compiler) {
+		Javac.ImplementationSpecificArgument argument = javac.createCompilerArg();
+		argument.setLine(line);
+		if (compiler != null)
+			argument.setCompiler(compiler);
+	}
+
+	/*
+	 * Record the compile errors of the bundle in its problem marker and log the prerequisites having errors,
+	 * as the checkCompilationResults target of the build.xml does
+	 */
+	private void logCompileError(BundleElement bundle, File dir, Map<String, String> properties, File marker) {
+		marker.getParentFile().mkdirs();
+		try (FileWriter writer = new FileWriter(marker)) {
+			writer.write(bundle.name + System.lineSeparator() + IBuildPropertiesConstants.PROPERTY_COMPILATION_ERROR + "=true"); //$NON-NLS-1$
+		} catch (IOException e) {
+			throw new BuildException(e, getLocation());
+		}
+
+		CompileErrorTask errorTask = new CompileErrorTask();
+		bind(errorTask, "eclipse.logCompileError"); //$NON-NLS-1$
+		errorTask.setBundle(bundle.name);
+		errorTask.setLog(resolve(format(IBuildPropertiesConstants.PROPERTY_PREREQ_COMPILE_LOG), properties));
+		for (PathElement prerequisite : bundle.prerequisites) {
+			errorTask.createInclude().setName(resolveFile(dir, resolve(prerequisite.path, properties)).getAbsolutePath());
+		}
+		errorTask.execute();
+	}
+
+	/*
+	 * The properties defined by the prologue and the init target of the build.xml of the bundle
+	 */
+	private Map<String, String> getProperties(BundleElement bundle, File dir) {
+		Map<String, String> properties = new HashMap<>();
+		properties.put(BASEDIR, dir.getAbsolutePath());
+		define(properties, IXMLConstants.PROPERTY_JAVAC_FAIL_ON_ERROR, "false"); //$NON-NLS-1$
+		define(properties, IXMLConstants.PROPERTY_JAVAC_DEBUG_INFO, "on"); //$NON-NLS-1$
+		define(properties, IXMLConstants.PROPERTY_JAVAC_VERBOSE, "false"); //$NON-NLS-1$
+		define(properties, IXMLConstants.PROPERTY_LOG_EXTENSION, ".log"); //$NON-NLS-1$
+		define(properties, IXMLConstants.PROPERTY_JAVAC_COMPILERARG, ""); //$NON-NLS-1$
+		define(properties, IBuildPropertiesConstants.PROPERTY_PREREQ_COMPILE_LOG, format(IXMLConstants.PROPERTY_BUILD_DIRECTORY) + "/prereqErrors.log"); //$NON-NLS-1$
+
+		if (bundle.javacSource == null)
+			define(properties, IXMLConstants.PROPERTY_JAVAC_SOURCE, "1.3"); //$NON-NLS-1$
+		if (bundle.javacTarget == null)
+			define(properties, IXMLConstants.PROPERTY_JAVAC_TARGET, "1.2"); //$NON-NLS-1$
+		if (bundle.bootClasspath == null && !isSet(IXMLConstants.PROPERTY_BOOTCLASSPATH, properties))
+			define(properties, IXMLConstants.PROPERTY_BOOTCLASSPATH, getDefaultBootClasspath());
+
+		if (bundle.javacSource != null)
+			define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_SOURCE, bundle.javacSource);
+		if (bundle.javacTarget != null)
+			define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_TARGET, bundle.javacTarget);
+		if (bundle.bootClasspath != null)
+			define(properties, IXMLConstants.PROPERTY_BUNDLE_BOOTCLASSPATH, bundle.bootClasspath);
+		for (EnvironmentElement environment : bundle.environments) {
+			if (!isSet(environment.name, properties))
+				continue;
+			define(properties, IXMLConstants.PROPERTY_BUNDLE_BOOTCLASSPATH, format(environment.name));
+			if (environment.source != null)
+				define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_SOURCE, environment.source);
+			if (environment.target != null)
+				define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_TARGET, environment.target);
+		}
+		define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_SOURCE, format(IXMLConstants.PROPERTY_JAVAC_SOURCE));
+		define(properties, IXMLConstants.PROPERTY_BUNDLE_JAVAC_TARGET, format(IXMLConstants.PROPERTY_JAVAC_TARGET));
+		define(properties, IXMLConstants.PROPERTY_BUNDLE_BOOTCLASSPATH, format(IXMLConstants.PROPERTY_BOOTCLASSPATH));
+
+		if (isSet(IXMLConstants.PROPERTY_BUILD_TEMP, properties)) {
+			define(properties, IXMLConstants.PROPERTY_PLUGIN_TEMP, format(IXMLConstants.PROPERTY_BUILD_TEMP) + "/plugins"); //$NON-NLS-1$
+			define(properties, IXMLConstants.PROPERTY_BUILD_RESULT_FOLDER, format(IXMLConstants.PROPERTY_PLUGIN_TEMP) + '/' + bundle.name);
+		}
+		define(properties, IXMLConstants.PROPERTY_PLUGIN_TEMP, dir.getAbsolutePath());
+		define(properties, IXMLConstants.PROPERTY_BUILD_RESULT_FOLDER, dir.getAbsolutePath());
+		define(properties, IXMLConstants.PROPERTY_TEMP_FOLDER, dir.getAbsolutePath() + '/' + IXMLConstants.PROPERTY_TEMP_FOLDER);
+		define(properties, IBuildPropertiesConstants.PROPERTY_COMPILE_PROBLEM_MARKER, format(IXMLConstants.PROPERTY_BUILD_RESULT_FOLDER) + "/compilation.problem"); //$NON-NLS-1$
+		if (isSet("eclipse.running", properties)) //$NON-NLS-1$
+			define(properties, IXMLConstants.PROPERTY_BUILD_COMPILER, IXMLConstants.JDT_COMPILER_ADAPTER);
+		return properties;
+	}
+
+	/*
+	 * The jars of the runtime running the build, computed once for all the bundles
+	 */
+	private synchronized String getDefaultBootClasspath() {
+		if (defaultBootClasspath == null) {
+			String folder = getProject().getProperty("dir_bootclasspath"); //$NON-NLS-1$
+			if (folder == null) {
+				String javaHome = getProject().getProperty("java.home"); //$NON-NLS-1$
+				File classes = new File(javaHome, "../Classes"); //$NON-NLS-1$
+				folder = Os.isFamily(Os.FAMILY_MAC) && classes.exists() ? classes.getPath() : new File(javaHome, "lib").getPath(); //$NON-NLS-1$
+			}
+			FileSet jars = new FileSet();
+			jars.setProject(getProject());
+			jars.setDir(new File(folder));
+			jars.setIncludes("*.jar"); //$NON-NLS-1$
+			Path path = new Path(getProject());
+			path.addFileset(jars);
+			defaultBootClasspath = path.toString();
+		}
+		return defaultBootClasspath;
+	}
+
+	//A property of the project takes precedence, as it is inherited by the build.xml of the bundle
+	private void define(Map<String, String> properties, String name, String value) {
+		if (!isSet(name, properties))
+			properties.put(name, resolve(value, properties));
+	}
+
+	private boolean isSet(String name, Map<String, String> properties) {
+		return properties.containsKey(name) || getProject().getProperty(name) != null;
+	}
+
+	/*
+	 * Replace the properties of the value, the ones not set are left as is
+	 */
+	private String resolve(String value, Map<String, String> properties) {
+		if (value == null || value.indexOf(ANT_PREFIX) == -1)
+			return value;
+		StringBuffer result = new StringBuffer(value.length());
+		int start = 0;
+		for (int index = value.indexOf(ANT_PREFIX); index != -1; index = value.indexOf(ANT_PREFIX, start)) {
+			int end = value.indexOf(ANT_SUFFIX, index);
+			if (end == -1)
+				break;
+			String name = value.substring(index + ANT_PREFIX.length(), end);
+			String replacement = BASEDIR.equals(name) ? properties.get(name) : getProject().getProperty(name);
+			if (replacement == null)
+				replacement = properties.get(name);
+			result.append(value, start, index);
+			result.append(replacement != null ? replacement : value.substring(index, end + 1));
+			start = end + 1;
+		}
+		result.append(value.substring(start));
+		return result.toString();
+	}
+
+	private static String format(String name) {
+		return ANT_PREFIX + name + ANT_SUFFIX;
+	}
+
+	private Path createPath(String value, File dir) {
+		Path path = new Path(getProject());
+		for (PathTokenizer tokenizer = new PathTokenizer(value); tokenizer.hasMoreTokens();) {
+			path.createPathElement().setLocation(resolveFile(dir, tokenizer.nextToken()));
+		}
+		return path;
+	}
+
+	private static File resolveFile(File dir, String path) {
+		return FileUtils.getFileUtils().resolveFile(dir, path);
+	}
+
+	private void bind(Task task, String name) {
+		task.setProject(getProject());
+		task.setOwningTarget(getOwningTarget());
+		task.setTaskName(name);
+		task.setLocation(getLocation());
+		task.init();
+	}
+
+	private int getThreadCount() {
+		if (threadCount > 0)
+			return threadCount;
+		int processors = Runtime.getRuntime().availableProcessors();
+		if (threadsPerProcessor > 0)
+			return processors * threadsPerProcessor;
+		return processors;
+	}
+
+	public void setAntfile(String antfile) {
+		this.antfile = antfile;
+	}
+
+	public void setTarget(String target) {
+		this.target = target;
+	}
+
+	public void setThreadCount(int threadCount) {
+		this.threadCount = threadCount;
+	}
+
+	public void setThreadsPerProcessor(int threadsPerProcessor) {
+		this.threadsPerProcessor = threadsPerProcessor;
+	}
+
+	public void setFailOnError(boolean failOnError) {
+		this.failOnError = failOnError;
+	}
+}
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.*;
+import org.apache.tools.ant.*;
+import org.apache.tools.ant.types.Path;
+
+/**
+ * Run the nested tasks compiling an entry of a bundle unless a local cache holds the output produced
+ * from the same inputs. The key of the cache is a hash of:
+ * <ul>
+ * <li>the content of the inputs, the source folders and the files holding compiler settings;</li>
+ * <li>the content of the elements of the classpath;</li>
+ * <li>the configuration of the nested tasks, with their properties expanded, which covers the source and
+ * target levels, the boot classpath and the compiler arguments;</li>
+ * <li>the compiler and the version of java running the build.</li>
+ * </ul>
+ * On a hit the output folder or jar, and the compilation log, are restored from the cache instead of running
+ * the nested tasks. On a miss the nested tasks are run and their output is stored in the cache unless the
+ * compilation reported errors. The nested tasks are always run when no cache folder is given.
+ */
+public class CompileCacheTask extends Task implements TaskContainer {
+	private static final String ANT_PREFIX = "${"; //$NON-NLS-1$
+	private static final String FORMAT_VERSION = "1"; //$NON-NLS-1$
+	private static final String OUTPUT_FOLDER = "output.zip"; //$NON-NLS-1$
+	private static final String OUTPUT_FILE = "output.jar"; //$NON-NLS-1$
+	private static final String OUTPUT_LOG = "output.log"; //$NON-NLS-1$
+
+	private static final int MAX_HASHES = 4096;
+
+	//The hash of the files last read, keyed by path, size and timestamp. The tasks stay loaded between the
+	//builds of a resident runtime, only the most recently used hashes are kept.
+	private static final Map<String, String> hashes = Collections.synchronizedMap(new LinkedHashMap<String, String>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_HASHES;
+		}
+	});
+
+	private final List<Task> tasks = new ArrayList<>();
+	private String cache = null;
+	private String output = null;
+	private String classpathRef = null;
+	private String inputs = null;
+	private String log = null;
+	private String errorProperty = null;
+
+	@Override
+	public void addTask(Task task) {
+		tasks.add(task);
+	}
+
+	@Override
+	public void execute() throws BuildException {
+		if (output == null)
+			throw new BuildException("The output attribute is required.", getLocation()); //$NON-NLS-1$
+
+		if (cache == null || cache.length() == 0 || cache.startsWith(ANT_PREFIX)) {
+			runTasks();
+			return;
+		}
+
+		File outputFile = getProject().resolveFile(output);
+		File logFile = log != null ? getProject().resolveFile(log) : null;
+		File entryFolder;
+		try {
+			entryFolder = new File(getProject().resolveFile(cache), computeKey());
+		} catch (IOException e) {
+			log("Could not compute the compile cache key of " + outputFile + ": " + e.getMessage(), Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+			runTasks();
+			return;
+		}
+
+		try {
+			if (restore(entryFolder, outputFile, logFile)) {
+				log("Restored " + outputFile + " from the compile cache", Project.MSG_INFO); //$NON-NLS-1$ //$NON-NLS-2$
+				return;
+			}
+		} catch (IOException e) {
+			log("Could not restore " + outputFile + " from the compile cache: " + e.getMessage(), Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		runTasks();
+
+		if (errorProperty != null && getProject().getProperty(errorProperty) != null)
+			return;
+		try {
+			store(entryFolder, outputFile, logFile);
+		} catch (IOException e) {
+			log("Could not store " + outputFile + " in the compile cache: " + e.getMessage(), Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private void runTasks() {
+		for (Task task : tasks) {
+			task.perform();
+		}
+	}
+
+	private String computeKey() throws IOException {
+		MessageDigest digest = newDigest();
+		update(digest, FORMAT_VERSION);
+		update(digest, System.getProperty("java.version")); //$NON-NLS-1$
+		update(digest, String.valueOf(getProject().getProperty("build.compiler"))); //$NON-NLS-1$
+
+		for (Task task : tasks) {
+			updateConfiguration(digest, task.getRuntimeConfigurableWrapper());
+		}
+
+		if (inputs != null) {
+			for (String input : inputs.split(",")) { //$NON-NLS-1$
+				input = input.trim();
+				if (input.length() == 0)
+					continue;
+				update(digest, normalize(input));
+				updateContent(digest, getProject().resolveFile(input));
+			}
+		}
+
+		if (classpathRef != null) {
+			Object reference = getProject().getReference(classpathRef);
+			if (!(reference instanceof Path))
+				throw new IOException("The reference " + classpathRef + " is not a path"); //$NON-NLS-1$ //$NON-NLS-2$
+			//Only the content of the classpath matters, not where the elements are located
+			for (String element : ((Path) reference).list()) {
+				updateContent(digest, new File(element));
+			}
+		}
+		return toHex(digest.digest());
+	}
+
+	private void updateConfiguration(MessageDigest digest, RuntimeConfigurable configuration) {
+		update(digest, configuration.getElementTag());
+		Map<String, Object> attributes = new TreeMap<>(configuration.getAttributeMap());
+		for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+			update(digest, attribute.getKey());
+			update(digest, normalize(getProject().replaceProperties(String.valueOf(attribute.getValue()))));
+		}
+		update(digest, normalize(getProject().replaceProperties(configuration.getText().toString())));
+		for (Enumeration<RuntimeConfigurable> children = configuration.getChildren(); children.hasMoreElements();) {
+			updateConfiguration(digest, children.nextElement());
+		}
+		update(digest, "/"); //$NON-NLS-1$
+	}
+
+	/*
+	 * Replace the location of the bundle and of the build directory by a variable so that the key does not
+	 * depend on where the build runs.
+	 */
+	private String normalize(String value) {
+		value = replace(value, getProject().getProperty("buildDirectory"), "${buildDirectory}"); //$NON-NLS-1$ //$NON-NLS-2$
+		File baseDir = getProject().getBaseDir();
+		if (baseDir != null)
+			value = replace(value, baseDir.getAbsolutePath(), "${basedir}"); //$NON-NLS-1$
+		return value;
+	}
+
+	private static String replace(String value, String location, String variable) {
+		if (location == null || location.length() == 0 || location.startsWith(ANT_PREFIX))
+			return value;
+		return value.replace(location, variable);
+	}
+
+	private void updateContent(MessageDigest digest, File file) throws IOException {
+		if (file.isFile()) {
+			update(digest, hashFile(file));
+		} else if (file.isDirectory()) {
+			String root = file.getAbsolutePath();
+			List<File> files = new ArrayList<>();
+			collectFiles(file, files);
+			for (File child : files) {
+				update(digest, child.getAbsolutePath().substring(root.length()).replace('\\', '/'));
+				update(digest, hashFile(child));
+			}
+		} else {
+			update(digest, "missing"); //$NON-NLS-1$
+		}
+	}
+
+	private static void collectFiles(File folder, List<File> result) {
+		File[] children = folder.listFiles();
+		if (children == null)
+			return;
+		Arrays.sort(children);
+		for (File child : children) {
+			if (child.isDirectory())
+				collectFiles(child, result);
+			else
+				result.add(child);
+		}
+	}
+
+	private static String hashFile(File file) throws IOException {
+		String id = file.getAbsolutePath() + ',' + file.length() + ',' + file.lastModified();
+		String hash = hashes.get(id);
+		if (hash == null) {
+			MessageDigest digest = newDigest();
+			try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = input.read(buffer)) != -1)
+					digest.update(buffer, 0, read);
+			}
+			hash = toHex(digest.digest());
+			hashes.put(id, hash);
+		}
+		return hash;
+	}
+
+	private boolean restore(File entryFolder, File outputFile, File logFile) throws IOException {
+		File cachedFolder = new File(entryFolder, OUTPUT_FOLDER);
+		File cachedFile = new File(entryFolder, OUTPUT_FILE);
+		if (cachedFolder.isFile()) {
+			outputFile.mkdirs();
+			unzip(cachedFolder, outputFile);
+		} else if (cachedFile.isFile()) {
+			outputFile.getParentFile().mkdirs();
+			Files.copy(cachedFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} else {
+			return false;
+		}
+
+		File cachedLog = new File(entryFolder, OUTPUT_LOG);
+		if (logFile != null && cachedLog.isFile()) {
+			logFile.getParentFile().mkdirs();
+			Files.copy(cachedLog.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		return true;
+	}
+
+	/*
+	 * The output is written last, an entry missing its output is never restored.
+	 */
+	private void store(File entryFolder, File outputFile, File logFile) throws IOException {
+		if (!outputFile.exists())
+			return;
+		entryFolder.mkdirs();
+		if (logFile != null && logFile.isFile())
+			moveInPlace(copyToTemp(logFile, entryFolder), new File(entryFolder, OUTPUT_LOG));
+
+		if (outputFile.isDirectory()) {
+			File temp = File.createTempFile(OUTPUT_FOLDER, ".tmp", entryFolder); //$NON-NLS-1$
+			try {
+				zip(outputFile, temp);
+				moveInPlace(temp, new File(entryFolder, OUTPUT_FOLDER));
+			} finally {
+				temp.delete();
+			}
+		} else {
+			moveInPlace(copyToTemp(outputFile, entryFolder), new File(entryFolder, OUTPUT_FILE));
+		}
+	}
+
+	private static File copyToTemp(File file, File folder) throws IOException {
+		File temp = File.createTempFile(file.getName(), ".tmp", folder); //$NON-NLS-1$
+		Files.copy(file.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		return temp;
+	}
+
+	private static void moveInPlace(File temp, File destination) throws IOException {
+		try {
+			Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			temp.delete();
+		}
+	}
+
+	private static void zip(File folder, File zipFile) throws IOException {
+		String root = folder.getAbsolutePath();
+		List<File> files = new ArrayList<>();
+		collectFiles(folder, files);
+		try (ZipOutputStream output = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zipFile)))) {
+			for (File file : files) {
+				ZipEntry entry = new ZipEntry(file.getAbsolutePath().substring(root.length() + 1).replace('\\', '/'));
+				entry.setTime(file.lastModified());
+				output.putNextEntry(entry);
+				Files.copy(file.toPath(), output);
+				output.closeEntry();
+			}
+		}
+	}
+
+	private static void unzip(File zipFile, File folder) throws IOException {
+		String root = folder.getCanonicalPath() + File.separator;
+		try (ZipInputStream input = new ZipInputStream(new BufferedInputStream(new FileInputStream(zipFile)))) {
+			for (ZipEntry entry = input.getNextEntry(); entry != null; entry = input.getNextEntry()) {
+				File file = new File(folder, entry.getName());
+				if (!file.getCanonicalPath().startsWith(root))
+					throw new IOException("Invalid entry " + entry.getName() + " in " + zipFile); //$NON-NLS-1$ //$NON-NLS-2$
+				file.getParentFile().mkdirs();
+				Files.copy(input, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				if (entry.getTime() != -1)
+					file.setLastModified(entry.getTime());
+			}
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuffer result = new StringBuffer(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16));
+			result.append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * Set the folder of the cache, the nested tasks are always run when it is not set.
+	 */
+	public void setCache(String cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * Set the output folder or jar produced by the nested tasks.
+	 */
+	public void setOutput(String output) {
+		this.output = output;
+	}
+
+	public void setClasspathRef(String classpathRef) {
+		this.classpathRef = classpathRef;
+	}
+
+	/**
+	 * Set the comma separated list of the files and folders the output is built from.
+	 */
+	public void setInputs(String inputs) {
+		this.inputs = inputs;
+	}
+
+	/**
+	 * Set the compilation log to keep with the output.
+	 */
+	public void setLog(String log) {
+		this.log = log;
+	}
+
+	/**
+	 * Set the property set by the nested tasks when the compilation fails, the output is not stored in the
+	 * cache when it is set.
+	 */
+	public void setErrorProperty(String errorProperty) {
+		this.errorProperty = errorProperty;
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.tools.ant.*;
+
+/**
+ * Extract a jar nested in another jar. The extraction is keyed by the content of the outer jar
+ * and the path of the nested jar: it is skipped when the destination already holds the jar
+ * extracted for the same key. When a cache folder is given, the nested jar is extracted once
+ * in that folder and copied from there by the following builds.
+ */
+public class ExtractNestedJarTask extends Task {
+	private static final String ANT_PREFIX = "${"; //$NON-NLS-1$
+	private static final String KEY_SUFFIX = ".key"; //$NON-NLS-1$
+
+	private static final int MAX_HASHES = 1024;
+	private static final int LOCK_COUNT = 64;
+
+	//The hash of the jars last read, keyed by path, size and timestamp. The tasks stay loaded between the
+	//builds of a resident runtime, only the most recently used hashes are kept.
+	private static final Map<String, String> hashes = Collections.synchronizedMap(new LinkedHashMap<String, String>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+			return size() > MAX_HASHES;
+		}
+	});
+	//The extractions to the same file are serialized with a fixed set of locks shared by all the files. The
+	//destinations and the cache entries use distinct sets since a cache entry is locked within a destination.
+	private static final Object[] targetLocks = newLocks();
+	private static final Object[] cacheLocks = newLocks();
+
+	private String jar = null;
+	private String path = null;
+	private String todir = null;
+	private String cache = null;
+
+	@Override
+	public void execute() throws BuildException {
+		if (jar == null || path == null || todir == null)
+			throw new BuildException("The jar, path and todir attributes are required.", getLocation()); //$NON-NLS-1$
+
+		File jarFile = getProject().resolveFile(jar);
+		if (!jarFile.isFile()) {
+			log("Could not find " + jarFile, Project.MSG_WARN); //$NON-NLS-1$
+			return;
+		}
+		File target = new File(getProject().resolveFile(todir), path);
+		File keyFile = new File(target.getParentFile(), target.getName() + KEY_SUFFIX);
+
+		try {
+			String key = computeKey(jarFile);
+			synchronized (getLock(targetLocks, target)) {
+				if (target.isFile() && key.equals(readKey(keyFile)))
+					return;
+
+				File cacheFolder = (cache == null || cache.startsWith(ANT_PREFIX)) ? null : getProject().resolveFile(cache);
+				if (cacheFolder == null) {
+					if (!extract(jarFile, target))
+						return;
+				} else {
+					File cached = new File(new File(cacheFolder, key), target.getName());
+					synchronized (getLock(cacheLocks, cached)) {
+						if (!cached.isFile() && !extract(jarFile, cached))
+							return;
+					}
+					target.getParentFile().mkdirs();
+					Files.copy(cached.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				Files.write(keyFile.toPath(), key.getBytes(StandardCharsets.UTF_8));
+			}
+		} catch (IOException e) {
+			throw new BuildException("Could not extract " + path + " from " + jarFile, e, getLocation()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private static Object[] newLocks() {
+		Object[] locks = new Object[LOCK_COUNT];
+		for (int i = 0; i < locks.length; i++)
+			locks[i] = new Object();
+		return locks;
+	}
+
+	private static Object getLock(Object[] locks, File file) {
+		return locks[(file.getAbsolutePath().hashCode() & 0x7FFFFFFF) % locks.length];
+	}
+
+	/*
+	 * Extract the nested jar to a temporary file next to the destination, then move it in place so an
+	 * interrupted extraction is never reused. Return false if the jar does not contain the nested jar.
+	 */
+	private boolean extract(File jarFile, File destination) throws IOException {
+		try (ZipFile zip = new ZipFile(jarFile)) {
+			ZipEntry entry = zip.getEntry(path);
+			if (entry == null || entry.isDirectory()) {
+				log("Could not find " + path + " in " + jarFile, Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+				return false;
+			}
+			destination.getParentFile().mkdirs();
+			File temp = File.createTempFile(destination.getName(), ".tmp", destination.getParentFile()); //$NON-NLS-1$
+			try {
+				try (InputStream input = zip.getInputStream(entry)) {
+					Files.copy(input, temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				if (entry.getTime() != -1)
+					temp.setLastModified(entry.getTime());
+				try {
+					Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				temp.delete();
+			}
+		}
+		return true;
+	}
+
+	private String computeKey(File jarFile) throws IOException {
+		String id = jarFile.getCanonicalPath() + ',' + jarFile.length() + ',' + jarFile.lastModified();
+		String hash = hashes.get(id);
+		if (hash == null) {
+			MessageDigest digest = newDigest();
+			try (InputStream input = new BufferedInputStream(new FileInputStream(jarFile))) {
+				byte[] buffer = new byte[8192];
+				int read;
+				while ((read = input.read(buffer)) != -1)
+					digest.update(buffer, 0, read);
+			}
+			hash = toHex(digest.digest());
+			hashes.put(id, hash);
+		}
+		MessageDigest digest = newDigest();
+		digest.update(hash.getBytes(StandardCharsets.UTF_8));
+		digest.update(path.getBytes(StandardCharsets.UTF_8));
+		return toHex(digest.digest());
+	}
+
+	private static MessageDigest newDigest() throws IOException {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuffer result = new StringBuffer(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16));
+			result.append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	private static String readKey(File keyFile) {
+		if (!keyFile.isFile())
+			return null;
+		try {
+			return new String(Files.readAllBytes(keyFile.toPath()), StandardCharsets.UTF_8).trim();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	public void setJar(String jar) {
+		this.jar = jar;
+	}
+
+	public void setPath(String path) {
+		this.path = path;
+	}
+
+	public void setTodir(String todir) {
+		this.todir = todir;
+	}
+
+	public void setCache(String cache) {
+		this.cache = cache;
+	}
+}
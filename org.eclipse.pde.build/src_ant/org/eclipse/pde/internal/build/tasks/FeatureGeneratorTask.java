@@ -50,7 +50,7 @@ public class FeatureGeneratorTask extends Task {
 		if (Boolean.valueOf(value).booleanValue())
 			antProperties.put(IBuildPropertiesConstants.RESOLVER_DEV_MODE, "true"); //$NON-NLS-1$
 
-		ProfileManager manager = new ProfileManager(null, true);
+		ProfileManager manager = ProfileManager.getProfileManager(null, true);
 		manager.copyEEProfileProperties(getProject().getProperties(), antProperties);
 	}
 
@@ -108,8 +108,15 @@ public class FetchTask extends Task {
 			String fetchCache = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_FETCH_CACHE);
 			if (fetchCache != null && !fetchCache.startsWith("${")) //$NON-NLS-1$
 				generator.setFetchCache(fetchCache);
+			generator.setParallelFetch(Boolean.valueOf(getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_FETCH)).booleanValue());
+			generator.setBatchRetrieval(Boolean.valueOf(getProject().getProperty(IBuildPropertiesConstants.PROPERTY_BATCH_FEATURE_RETRIEVAL)).booleanValue());
 			generator.setScriptRunner(new AntScriptRunner(this));
-			generator.generate();
+			File timeline = TaskHelper.initializeMetrics(getProject());
+			try {
+				generator.generate();
+			} finally {
+				TaskHelper.writeMetrics(this, timeline);
+			}
 			BundleHelper.getDefault().setLog(null);
 		} catch (CoreException e) {
 			throw new BuildException(TaskHelper.statusToString(e.getStatus(), null).toString());
@@ -18,6 +18,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Task;
+import org.eclipse.pde.internal.build.EntryVersionsMap;
+import org.eclipse.pde.internal.build.TextScanner;
 
 /** 
  * Internal task.
@@ -34,8 +36,6 @@ public class IdReplaceTask extends Task {
 	private static final String EMPTY = ""; //$NON-NLS-1$
 	private static final String PLUGIN_START_TAG = "<plugin"; //$NON-NLS-1$
 	private static final String INCLUDES_START_TAG = "<includes"; //$NON-NLS-1$
-	private static final String COMMENT_START_TAG = "<!--"; //$NON-NLS-1$
-	private static final String COMMENT_END_TAG = "-->"; //$NON-NLS-1$
 	private static final String INSERT_VERSION = " version=\"0.0.0\" "; //$NON-NLS-1$
 
 	//Path of the file where we are replacing the values
@@ -124,6 +124,23 @@ public class IdReplaceTask extends Task {
 		}
 	}
 
+	/**
+	 * Set the file from which the values used when replacing the generic values of the plugin and
+	 * feature references are read. The file is written by the script generation and is only read
+	 * once when it is shared by several tasks.
+	 * @param path the location of the file
+	 */
+	public void setVersionsFile(String path) {
+		EntryVersionsMap versions;
+		try {
+			versions = EntryVersionsMap.read(new File(path));
+		} catch (IOException e) {
+			throw new BuildException("Could not read the versions file " + path, e); //$NON-NLS-1$
+		}
+		pluginIds = versions.getPluginVersions();
+		featureIds = versions.getFeatureVersions();
+	}
+
 	@Override
 	public void execute() {
 		StringBuffer buffer = null;
@@ -136,15 +153,7 @@ public class IdReplaceTask extends Task {
 		String mainStartTag = isProduct ? PRODUCT_START_TAG : FEATURE_START_TAG;
 
 		//Skip feature declaration because it contains the word "plugin"
-		int startComment = scan(buffer, 0, COMMENT_START_TAG);
-		int endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-		int startFeature = scan(buffer, 0, mainStartTag, true);
-
-		while (startComment != -1 && startFeature > startComment && startFeature < endComment) {
-			startFeature = scan(buffer, endComment, mainStartTag, true);
-			startComment = scan(buffer, endComment, COMMENT_START_TAG);
-			endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-		}
+		int startFeature = TextScanner.scanNoComment(buffer, 0, mainStartTag, true, true);
 
 		if (startFeature == -1)
 			return;
@@ -196,37 +205,13 @@ public class IdReplaceTask extends Task {
 
 		int startElement = endFeature;
 		int startId = 0;
+		String[] elementTags = new String[] {PLUGIN_START_TAG, isProduct ? FEATURE_START_TAG : INCLUDES_START_TAG};
 		while (true) {
-			int startPlugin = scan(buffer, startElement + 1, PLUGIN_START_TAG, true);
-			int startInclude = scan(buffer, startElement + 1, isProduct ? FEATURE_START_TAG : INCLUDES_START_TAG, true);
-
-			if (startPlugin == -1 && startInclude == -1)
+			//Find which of a plugin or a feature is referenced first
+			int foundElement = TextScanner.scanNoComment(buffer, startElement + 1, elementTags, true, true);
+			if (foundElement == -1)
 				break;
-
-			startComment = scan(buffer, startElement + 1, COMMENT_START_TAG);
-			endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-
-			int foundElement = -1;
-			boolean isPlugin = false;
-
-			//Find which of a plugin or a feature is referenced first 
-			if (startPlugin == -1 || startInclude == -1) {
-				foundElement = startPlugin != -1 ? startPlugin : startInclude;
-				isPlugin = (startPlugin != -1 ? true : false);
-			} else {
-				if (startPlugin < startInclude) {
-					foundElement = startPlugin;
-					isPlugin = true;
-				} else {
-					foundElement = startInclude;
-					isPlugin = false;
-				}
-			}
-
-			if (startComment != -1 && foundElement > startComment && foundElement < endComment) {
-				startElement = endComment;
-				continue;
-			}
+			boolean isPlugin = TextScanner.matches(buffer, foundElement, PLUGIN_START_TAG, true);
 
 			int endElement, startElementId = -1, endElementId = -1;
 			int startVersionWord = -1, startVersionId = -1, endVersionId = -1;
@@ -312,26 +297,7 @@ public class IdReplaceTask extends Task {
 	}
 
 	private int scan(StringBuffer buf, int start, String targetName) {
-		return scan(buf, start, new String[] {targetName}, false);
-	}
-
-	private int scan(StringBuffer buf, int start, String targetName, boolean wholeWord) {
-		return scan(buf, start, new String[] {targetName}, wholeWord);
-	}
-
-	private int scan(StringBuffer buf, int start, String[] targets, boolean wholeWord) {
-		for (int i = start; i < buf.length(); i++) {
-			for (String candidate : targets) {
-				if (i < buf.length() - candidate.length()) {
-					String match = buf.substring(i, i + candidate.length());
-					if (candidate.equalsIgnoreCase(match)) {
-						if (!wholeWord || Character.isWhitespace(buf.charAt(i + candidate.length())))
-							return i;
-					}
-				}
-			}
-		}
-		return -1;
+		return TextScanner.scan(buf, start, targetName, true, false);
 	}
 
 	private StringBuffer readFile(File targetName) throws IOException {
@@ -24,6 +24,7 @@ import org.apache.tools.ant.types.FileSet;
 import org.apache.tools.ant.types.PatternSet.NameEntry;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.build.Constants;
+import org.eclipse.pde.internal.build.TextScanner;
 
 /** 
  * Internal task.
@@ -43,8 +44,6 @@ public class LicenseReplaceTask extends Task {
 		private static final String LICENSE_END_TAG = "</license>"; //$NON-NLS-1$;
 		private static final String URL_ATTR = "url";//$NON-NLS-1$
 		private static final String DOUBLE_QUOTE = "\""; //$NON-NLS-1$
-		private static final String COMMENT_START_TAG = "<!--"; //$NON-NLS-1$
-		private static final String COMMENT_END_TAG = "-->"; //$NON-NLS-1$
 
 		private final String featureFilePath;
 		private String urlText;
@@ -246,39 +245,15 @@ public class LicenseReplaceTask extends Task {
 		}
 
 		private int scan(StringBuffer buf, int start, String targetName) {
-			return scan(buf, start, new String[] {targetName}, false);
+			return TextScanner.scan(buf, start, targetName, true, false);
 		}
 
 		private int scan(StringBuffer buf, int start, String targetName, boolean wholeWord) {
-			return scan(buf, start, new String[] {targetName}, wholeWord);
+			return TextScanner.scan(buf, start, targetName, true, wholeWord);
 		}
 
-		private int scan(StringBuffer buf, int start, String[] targets, boolean wholeWord) {
-			for (int i = start; i < buf.length(); i++) {
-				for (String candidate : targets) {
-					if (i < buf.length() - candidate.length()) {
-						String match = buf.substring(i, i + candidate.length());
-						if (candidate.equalsIgnoreCase(match)) {
-							if (!wholeWord || Character.isWhitespace(buf.charAt(i + candidate.length())))
-								return i;
-						}
-					}
-				}
-			}
-			return -1;
-		}
-
-		private int scanNoComment(StringBuffer bug, int start, String thisTarget, boolean wholeWord) {
-			int startComment = scan(buffer, start, COMMENT_START_TAG);
-			int endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-			int startTarget = scan(buffer, start, thisTarget, wholeWord);
-
-			while (startComment != -1 && startTarget > startComment && startTarget < endComment) {
-				startTarget = scan(buffer, endComment, thisTarget, wholeWord);
-				startComment = scan(buffer, endComment, COMMENT_START_TAG);
-				endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-			}
-			return startTarget;
+		private int scanNoComment(StringBuffer buf, int start, String thisTarget, boolean wholeWord) {
+			return TextScanner.scanNoComment(buf, start, thisTarget, true, wholeWord);
 		}
 	}
 
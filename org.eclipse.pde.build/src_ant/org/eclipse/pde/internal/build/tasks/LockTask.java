@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM - Initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.build.tasks;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.tools.ant.*;
+
+/**
+ * Run the nested tasks while holding the lock of the given name. The tasks run in parallel
+ * branches of the build that use the same lock are run one after the other.
+ */
+public class LockTask extends Task implements TaskContainer {
+	private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+	private final List<Task> tasks = new ArrayList<>();
+	private String name = "default"; //$NON-NLS-1$
+
+	@Override
+	public void addTask(Task task) {
+		tasks.add(task);
+	}
+
+	@Override
+	public void execute() throws BuildException {
+		synchronized (locks.computeIfAbsent(name, k -> new Object())) {
+			for (Task task : tasks) {
+				task.perform();
+			}
+		}
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
@@ -110,7 +110,19 @@ public class PackagerTask extends Task {
 		if (Boolean.valueOf(value).booleanValue())
 			properties.put(IBuildPropertiesConstants.PROPERTY_ALLOW_BINARY_CYCLES, "true"); //$NON-NLS-1$
 
-		ProfileManager manager = new ProfileManager(null, true);
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_STREAMING_ARCHIVES);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_STREAMING_ARCHIVES, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_PARALLEL_ASSEMBLY);
+		if (Boolean.valueOf(value).booleanValue())
+			properties.put(IBuildPropertiesConstants.PROPERTY_PARALLEL_ASSEMBLY, "true"); //$NON-NLS-1$
+
+		value = getProject().getProperty(IBuildPropertiesConstants.PROPERTY_ASSEMBLY_THREAD_COUNT);
+		if (value != null)
+			properties.put(IBuildPropertiesConstants.PROPERTY_ASSEMBLY_THREAD_COUNT, value);
+
+		ProfileManager manager = ProfileManager.getProfileManager(null, true);
 		manager.copyEEProfileProperties(getProject().getProperties(), antProperties);
 	}
 
@@ -17,6 +17,7 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import org.apache.tools.ant.BuildException;
 import org.apache.tools.ant.Task;
+import org.eclipse.pde.internal.build.TextScanner;
 
 /** 
  * Internal task.
@@ -26,8 +27,6 @@ import org.apache.tools.ant.Task;
 public class PluginVersionReplaceTask extends Task {
 	private static final String PLUGIN_START_TAG = "<plugin"; //$NON-NLS-1$
 	private static final String FRAGMENT_START_TAG = "<fragment"; //$NON-NLS-1$
-	private static final String COMMENT_START_TAG = "<!--"; //$NON-NLS-1$
-	private static final String COMMENT_END_TAG = "-->"; //$NON-NLS-1$
 	private static final String VERSION = "version";//$NON-NLS-1$
 	private static final String BACKSLASH = "\""; //$NON-NLS-1$
 
@@ -71,15 +70,7 @@ public class PluginVersionReplaceTask extends Task {
 		}
 
 		//Find the word plugin or fragment
-		int startPlugin = scan(buffer, 0, plugin ? PLUGIN_START_TAG : FRAGMENT_START_TAG);
-		int startComment = scan(buffer, 0, COMMENT_START_TAG);
-		int endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-
-		while (startComment != -1 && startPlugin > startComment && startPlugin < endComment) {
-			startPlugin = scan(buffer, endComment, plugin ? PLUGIN_START_TAG : FRAGMENT_START_TAG);
-			startComment = scan(buffer, endComment, COMMENT_START_TAG);
-			endComment = startComment > -1 ? scan(buffer, startComment, COMMENT_END_TAG) : -1;
-		}
+		int startPlugin = TextScanner.scanNoComment(buffer, 0, plugin ? PLUGIN_START_TAG : FRAGMENT_START_TAG, true, false);
 
 		if (startPlugin == -1)
 			return;
@@ -126,20 +117,7 @@ public class PluginVersionReplaceTask extends Task {
 	}
 
 	private int scan(StringBuffer buf, int start, String targetName) {
-		return scan(buf, start, new String[] {targetName});
-	}
-
-	private int scan(StringBuffer buf, int start, String[] targets) {
-		for (int i = start; i < buf.length(); i++) {
-			for (String target2 : targets) {
-				if (i < buf.length() - target2.length()) {
-					String match = buf.substring(i, i + target2.length());
-					if (target2.equalsIgnoreCase(match))
-						return i;
-				}
-			}
-		}
-		return -1;
+		return TextScanner.scan(buf, start, targetName, true, false);
 	}
 
 	private StringBuffer readFile(File targetName) throws IOException {
@@ -13,7 +13,13 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.build.tasks;
 
+import java.io.File;
+import java.io.IOException;
+import org.apache.tools.ant.Project;
+import org.apache.tools.ant.Task;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.pde.internal.build.BuildMetrics;
+import org.eclipse.pde.internal.build.IBuildPropertiesConstants;
 
 public class TaskHelper {
 	public static StringBuffer statusToString(IStatus status, StringBuffer b) {
@@ -27,4 +33,33 @@ public class TaskHelper {
 		}
 		return b;
 	}
+
+	/**
+	 * Return the file in which the build metrics are written, or <code>null</code> if the build metrics
+	 * are not collected. The metrics are enabled when the file is set, they must be written with
+	 * {@link #writeMetrics(Task, File)} once the task is done, whether it succeeds or not.
+	 */
+	public static File initializeMetrics(Project project) {
+		String location = project.getProperty(IBuildPropertiesConstants.PROPERTY_BUILD_METRICS);
+		if (location == null || location.length() == 0 || location.startsWith("${")) //$NON-NLS-1$
+			return null;
+		BuildMetrics.enable();
+		return project.resolveFile(location);
+	}
+
+	/**
+	 * Write the build metrics in the file returned by {@link #initializeMetrics(Project)} and disable
+	 * them.
+	 */
+	public static void writeMetrics(Task task, File timeline) {
+		if (timeline == null)
+			return;
+		try {
+			BuildMetrics.write(timeline);
+		} catch (IOException e) {
+			task.log("Could not write the build metrics in " + timeline + ": " + e.getMessage(), Project.MSG_WARN); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			BuildMetrics.disable();
+		}
+	}
 }